@@ -0,0 +1,103 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import keeka.tasks.Task;
+
+/**
+ * Deterministic task lists and save files shared by the benchmarks.
+ * Every fourth task is a todo, a deadline by date, a deadline by date-time or an event,
+ * and every description ends in the task's number, so a query for one number is selective
+ * while a query for a common word matches a quarter of the list.
+ */
+public class BenchmarkTasks {
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Creates the tasks numbered 1 to the given count.
+     *
+     * @param count The number of tasks.
+     * @return The tasks, without IDs.
+     */
+    public static List<Task> create(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(createTask(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates a task list holding the tasks numbered 1 to the given count.
+     *
+     * @param count The number of tasks.
+     * @param isTrigramIndexed Whether the list keeps a trigram index.
+     * @return The filled task list.
+     */
+    public static TaskList createTaskList(int count, boolean isTrigramIndexed) {
+        TaskList taskList = new TaskList(isTrigramIndexed);
+        for (Task task : create(count)) {
+            taskList.addTask(task);
+        }
+        return taskList;
+    }
+
+    /**
+     * Writes a save file holding the tasks numbered 1 to the given count.
+     *
+     * @param directory The directory to write the file into.
+     * @param extension The file extension, which selects the storage backend.
+     * @param count The number of tasks.
+     * @return The path of the save file.
+     */
+    public static Path writeSaveFile(Path directory, String extension, int count) {
+        Path path = directory.resolve("tasks-" + count + extension);
+        Storage storage = Storage.open(path.toString());
+        try {
+            storage.updateAllTasks(createTaskList(count, false).getAllTasks());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            storage.close();
+        }
+        return path;
+    }
+
+    /**
+     * Deletes a directory created for a benchmark together with everything in it.
+     *
+     * @param directory The directory to delete.
+     */
+    public static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Task createTask(int number) {
+        LocalDate day = LocalDate.of(2025, 1, 1).plusDays(number % 365);
+        return switch (number % 4) {
+        case 0 -> TaskFactory.createToDo("read chapter " + number, number % 3 == 0);
+        case 1 -> TaskFactory.createDeadline("submit report " + number, false, day);
+        case 2 -> TaskFactory.createDeadline("review draft " + number, number % 5 == 0, day.atTime(9, 30));
+        default -> TaskFactory.createEvent("team meeting " + number, false,
+                LocalDateTime.of(day, LocalTime.of(number % 10 + 8, 0)),
+                LocalDateTime.of(day, LocalTime.of(number % 10 + 9, 0)));
+        };
+    }
+}
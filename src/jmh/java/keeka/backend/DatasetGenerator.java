@@ -0,0 +1,82 @@
+package keeka.backend;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import keeka.tasks.Task;
+
+/**
+ * Writes a synthetic save file and, optionally, a matching stream of commands to replay
+ * against it with {@link LoadReplay}. Run with {@code gradlew generateDataset -PdatasetArgs="..."}.
+ *
+ * <p>Options, all optional:
+ * <ul>
+ * <li>{@code --tasks} the number of tasks in the save file, by default 1000</li>
+ * <li>{@code --out} the save file, whose extension selects the storage backend,
+ *     by default {@code build/dataset/List.txt}</li>
+ * <li>{@code --commands} the number of commands to write, by default none</li>
+ * <li>{@code --commands-out} the command file, by default {@code build/dataset/commands.txt}</li>
+ * <li>the generator options described in {@link WorkloadOptions#createGenerator()}</li>
+ * </ul>
+ */
+public class DatasetGenerator {
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        WorkloadOptions options = WorkloadOptions.parse(args);
+        WorkloadGenerator generator = options.createGenerator();
+        int taskCount = (int) options.getNumber("tasks", 1000);
+
+        Path saveFile = Paths.get(options.getText("out", "build/dataset/List.txt"));
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int id = 1; id <= taskCount; id++) {
+            Task task = generator.nextTask();
+            task.setId(id);
+            tasks.add(task);
+        }
+        writeSaveFile(saveFile, tasks);
+        System.out.println("Wrote " + taskCount + " tasks to " + saveFile);
+
+        long commandCount = options.getNumber("commands", 0);
+        if (commandCount > 0) {
+            Path commandFile = Paths.get(options.getText("commands-out", "build/dataset/commands.txt"));
+            generator.setListSize(taskCount);
+            writeCommands(commandFile, generator, commandCount);
+            System.out.println("Wrote " + commandCount + " commands to " + commandFile);
+        }
+    }
+
+    private static void writeSaveFile(Path saveFile, List<Task> tasks) throws IOException {
+        createParent(saveFile);
+        Files.deleteIfExists(saveFile);
+        Storage storage = Storage.open(saveFile.toString());
+        try {
+            storage.updateAllTasks(tasks);
+        } finally {
+            storage.close();
+        }
+    }
+
+    private static void writeCommands(Path commandFile, WorkloadGenerator generator, long count) throws IOException {
+        createParent(commandFile);
+        try (BufferedWriter writer = Files.newBufferedWriter(commandFile, StandardCharsets.UTF_8)) {
+            for (long i = 0; i < count; i++) {
+                writer.write(generator.nextCommand());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void createParent(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+    }
+}
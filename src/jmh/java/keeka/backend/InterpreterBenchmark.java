@@ -0,0 +1,71 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures full command round trips through the interpreter: parsing, changing the task list,
+ * persisting the change and formatting the response. Responses go to {@link OutputSink#NONE}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterpreterBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private TaskList taskList;
+    private Storage storage;
+    private Interpreter interpreter;
+    private String findCommand;
+
+    @Setup
+    public void loadTasks() throws IOException {
+        directory = Files.createTempDirectory("keeka-jmh");
+        storage = Storage.open(BenchmarkTasks.writeSaveFile(directory, ".txt", size).toString());
+        taskList = new TaskList();
+        new TaskLoader(taskList, storage, new Parser()).loadTasks();
+        findCommand = "find report " + (size / 4 * 4 + 1 - 4);
+
+        Parser parser = new Parser();
+        Ui ui = new Ui(OutputSink.NONE);
+        CommandHandler commandHandler = new CommandHandler(taskList, storage, parser);
+        interpreter = new Interpreter(commandHandler, new TaskLoader(taskList, storage, parser), ui);
+    }
+
+    @TearDown
+    public void closeStorage() {
+        storage.close();
+        BenchmarkTasks.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void addAndDelete() {
+        interpreter.processCommand("todo benchmark task");
+        interpreter.processCommand("delete " + taskList.size());
+    }
+
+    @Benchmark
+    public void markAndUnmark() {
+        interpreter.processCommand("mark 1");
+        interpreter.processCommand("unmark 1");
+    }
+
+    @Benchmark
+    public void find() {
+        interpreter.processCommand(findCommand);
+    }
+}
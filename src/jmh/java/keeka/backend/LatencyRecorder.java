@@ -0,0 +1,109 @@
+package keeka.backend;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the latency of every replayed command, grouped by command word, and reports
+ * throughput and latency percentiles per group. Latencies are kept exactly in growable
+ * {@code long} arrays, which costs 8 bytes per command and keeps the percentiles exact.
+ */
+public class LatencyRecorder {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Samples> samplesByCommand;
+
+    /**
+     * Constructs an empty LatencyRecorder.
+     */
+    public LatencyRecorder() {
+        this.samplesByCommand = new TreeMap<>();
+    }
+
+    /**
+     * Records the latency of one command.
+     *
+     * @param command The command word, such as {@code find}.
+     * @param nanos The time the command took, in nanoseconds.
+     */
+    public void record(String command, long nanos) {
+        samplesByCommand.computeIfAbsent(command, key -> new Samples()).add(nanos);
+    }
+
+    /**
+     * Describes the recorded latencies as a table with one row per command word and a total row.
+     * Throughput is the number of commands divided by the time spent running them.
+     *
+     * @return The report, with latencies in microseconds.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("%-10s %10s %12s", "command", "count", "ops/s"));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" %10s", "p" + formatPercentile(percentile) + " us"));
+        }
+        report.append(String.format(" %10s%n", "max us"));
+
+        Samples all = new Samples();
+        for (Map.Entry<String, Samples> entry : samplesByCommand.entrySet()) {
+            appendRow(report, entry.getKey(), entry.getValue());
+            all.addAll(entry.getValue());
+        }
+        appendRow(report, "all", all);
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String name, Samples samples) {
+        long[] sorted = samples.sorted();
+        double seconds = samples.total / 1e9;
+        report.append(String.format("%-10s %10d %12.0f", name, sorted.length, sorted.length / Math.max(seconds, 1e-9)));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" %10.1f", valueAt(sorted, percentile) / 1e3));
+        }
+        report.append(String.format(" %10.1f%n", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e3));
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted samples.
+     */
+    private static long valueAt(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.floor(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * The latencies recorded for one command word.
+     */
+    private static class Samples {
+        private long[] nanos = new long[16];
+        private int size;
+        private long total;
+
+        private void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            total += value;
+        }
+
+        private void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i]);
+            }
+        }
+
+        private long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
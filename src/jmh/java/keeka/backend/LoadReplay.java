@@ -0,0 +1,160 @@
+package keeka.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+/**
+ * Replays a stream of commands through {@link Interpreter#processCommand(String)} against a
+ * copy of a save file and reports throughput and latency percentiles per command word.
+ * Run with {@code gradlew replay -PreplayArgs="..."}, after creating a dataset with the
+ * {@link DatasetGenerator}.
+ *
+ * <p>Options, all optional:
+ * <ul>
+ * <li>{@code --save} the save file to start from, by default {@code build/dataset/List.txt};
+ *     it is copied together with its mutation log, so the original is never changed</li>
+ * <li>{@code --commands} a command file to replay; without it commands are generated</li>
+ * <li>{@code --generate} the number of commands to generate, by default 100000</li>
+ * <li>{@code --warmup} the number of commands run before recording starts, by default 10000</li>
+ * <li>the generator options described in {@link WorkloadOptions#createGenerator()}</li>
+ * </ul>
+ *
+ * <p>Commands are persisted like in the application, so the {@code keeka.durability} and
+ * {@code keeka.trigramIndex} system properties apply. Responses go to
+ * {@link OutputSink#NONE}, so only the report is printed.
+ */
+public class LoadReplay {
+    private final TaskList taskList;
+    private final Interpreter interpreter;
+
+    private LoadReplay(TaskList taskList, Storage storage) {
+        Parser parser = new Parser();
+        Ui ui = new Ui(OutputSink.NONE);
+        CommandHandler commandHandler = new CommandHandler(taskList, storage, parser);
+        this.taskList = taskList;
+        this.interpreter = new Interpreter(commandHandler, new TaskLoader(taskList, storage, parser), ui);
+    }
+
+    public static void main(String[] args) throws IOException {
+        WorkloadOptions options = WorkloadOptions.parse(args);
+        Path saveFile = Paths.get(options.getText("save", "build/dataset/List.txt"));
+        Path directory = Files.createTempDirectory("keeka-replay");
+        PrintStream console = System.out;
+
+        try {
+            Path copy = copySaveFile(saveFile, directory);
+            TaskList taskList = new TaskList(Keeka.IS_TRIGRAM_INDEXED);
+            Storage storage = Storage.open(copy.toString());
+            long loadStart = System.nanoTime();
+            LoadReport loadReport = new TaskLoader(taskList, storage, new Parser()).loadTasks();
+            long loadNanos = System.nanoTime() - loadStart;
+            console.printf("Loaded %d tasks in %d ms%n", loadReport.getLoadedCount(), loadNanos / 1_000_000);
+
+            LoadReplay replay = new LoadReplay(taskList, storage);
+            try (CommandSource commands = CommandSource.open(options, taskList.size())) {
+                replay.run(commands, options.getNumber("warmup", 10_000), console);
+            } finally {
+                storage.close();
+            }
+        } finally {
+            BenchmarkTasks.deleteDirectory(directory);
+        }
+    }
+
+    private void run(CommandSource commands, long warmup, PrintStream console) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long count = 0;
+        long recordingStart = System.nanoTime();
+        for (String command = commands.get(); command != null; command = commands.get()) {
+            if (count == warmup) {
+                recordingStart = System.nanoTime();
+            }
+
+            long start = System.nanoTime();
+            interpreter.processCommand(command);
+            long nanos = System.nanoTime() - start;
+            if (count >= warmup) {
+                recorder.record(command.split(" ", 2)[0], nanos);
+            }
+            count++;
+        }
+
+        long recorded = Math.max(count - warmup, 0);
+        double seconds = (System.nanoTime() - recordingStart) / 1e9;
+        console.printf("Replayed %d commands after %d warm-up commands in %.1f s (%.0f commands/s wall clock), "
+                + "%d tasks at the end%n", recorded, Math.min(warmup, count), seconds, recorded / seconds,
+                taskList.size());
+        console.print(recorder.report());
+    }
+
+    /**
+     * Copies the save file and every file next to it whose name starts with the save file's
+     * name, such as its mutation log, into the given directory.
+     */
+    private static Path copySaveFile(Path saveFile, Path directory) throws IOException {
+        if (!Files.exists(saveFile)) {
+            throw new IOException("Save file not found: " + saveFile + ". Create one with DatasetGenerator first.");
+        }
+        Path parent = saveFile.toAbsolutePath().getParent();
+        String name = saveFile.getFileName().toString();
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(parent, name + "*")) {
+            for (Path sibling : siblings) {
+                Files.copy(sibling, directory.resolve(sibling.getFileName()));
+            }
+        }
+        return directory.resolve(name);
+    }
+
+    /**
+     * The commands to replay, read line by line from a file or generated on the fly.
+     * Returns null once the commands run out.
+     */
+    private static class CommandSource implements Supplier<String>, AutoCloseable {
+        private final BufferedReader reader;
+        private final WorkloadGenerator generator;
+        private long remaining;
+
+        private CommandSource(BufferedReader reader, WorkloadGenerator generator, long remaining) {
+            this.reader = reader;
+            this.generator = generator;
+            this.remaining = remaining;
+        }
+
+        private static CommandSource open(WorkloadOptions options, int listSize) throws IOException {
+            if (options.has("commands")) {
+                Path commandFile = Paths.get(options.getText("commands", ""));
+                return new CommandSource(Files.newBufferedReader(commandFile, StandardCharsets.UTF_8), null, 0);
+            }
+            WorkloadGenerator generator = options.createGenerator();
+            generator.setListSize(listSize);
+            return new CommandSource(null, generator, options.getNumber("generate", 100_000));
+        }
+
+        @Override
+        public String get() {
+            if (reader == null) {
+                return remaining-- > 0 ? generator.nextCommand() : null;
+            }
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
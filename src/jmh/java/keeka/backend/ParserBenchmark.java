@@ -0,0 +1,45 @@
+package keeka.backend;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures parsing a single saved line and a single deadline or event command.
+ * The inputs are held in fields so that the JIT cannot fold them into constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private final Parser parser = new Parser();
+    private String saveLine = "42. [D][ ] submit report 42 (by: 2025-03-01T09:30)";
+    private String deadlineByDate = "submit report /by 2025-03-01";
+    private String deadlineByDateTime = "submit report /by 2025-03-01T09:30";
+    private String eventByDateTime = "team meeting /from 2025-09-05T09:00 /to 2025-09-05T11:00";
+
+    @Benchmark
+    public Parser.ParsedSaveContent parseSaveContent() {
+        return parser.parseSaveContent(saveLine);
+    }
+
+    @Benchmark
+    public Parser.DeadlineInput parseDeadlineByDate() {
+        return parser.parseDeadlineInput(deadlineByDate);
+    }
+
+    @Benchmark
+    public Parser.DeadlineInput parseDeadlineByDateTime() {
+        return parser.parseDeadlineInput(deadlineByDateTime);
+    }
+
+    @Benchmark
+    public Parser.EventInput parseEvent() {
+        return parser.parseEventInput(eventByDateTime);
+    }
+}
@@ -0,0 +1,94 @@
+package keeka.backend;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import keeka.tasks.Task;
+
+/**
+ * Compares the time and memory allocated per saved line by {@link SaveLineDecoder}
+ * against the previous regex-splitting decoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SaveLineDecoderBenchmark {
+    private static final int LINE_COUNT = 10_000;
+
+    private final SaveLineDecoder decoder = new SaveLineDecoder();
+    private List<byte[]> lines;
+
+    @Setup
+    public void createLines() {
+        lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 1; i <= LINE_COUNT; i++) {
+            Task task = switch (i % 4) {
+            case 0 -> TaskFactory.createToDo("read chapter " + i, i % 3 == 0);
+            case 1 -> TaskFactory.createDeadline("submit report " + i, false,
+                    LocalDate.of(2025, 1 + i % 12, 1 + i % 28));
+            case 2 -> TaskFactory.createDeadline("review " + i, true, LocalDateTime.of(2025, 3, 1 + i % 28, 9, 30));
+            default -> TaskFactory.createEvent("meeting " + i, false,
+                    LocalDateTime.of(2025, 9, 5, 9, 0), LocalDateTime.of(2025, 9, 5, 11, 0));
+            };
+            lines.add((i + ". " + task).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINE_COUNT)
+    public void regexSplit(Blackhole blackhole) {
+        for (byte[] line : lines) {
+            blackhole.consume(decodeWithSplits(new String(line, StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINE_COUNT)
+    public void singlePass(Blackhole blackhole) {
+        for (byte[] line : lines) {
+            blackhole.consume(decoder.decode(line, 0, line.length));
+        }
+    }
+
+    /**
+     * The decoding path used before {@link SaveLineDecoder}, kept here as the baseline.
+     */
+    private static Task decodeWithSplits(String line) {
+        String[] indexTaskPair = line.split("\\. ", 2);
+        char taskCode = indexTaskPair[1].charAt(1);
+        boolean isDone = indexTaskPair[1].charAt(4) == 'X';
+        String content = indexTaskPair[1].substring(7);
+
+        switch (taskCode) {
+        case 'T':
+            return TaskFactory.createToDo(content, isDone);
+        case 'D': {
+            String[] parts = content.split(" \\(by: ", 2);
+            String date = parts[1].substring(0, parts[1].length() - 1);
+            return date.contains("T")
+                    ? TaskFactory.createDeadline(parts[0], isDone, LocalDateTime.parse(date))
+                    : TaskFactory.createDeadline(parts[0], isDone, LocalDate.parse(date));
+        }
+        default: {
+            String[] parts = content.split(" \\(from: ", 2);
+            String[] dates = parts[1].split(" to: ", 2);
+            String end = dates[1].substring(0, dates[1].length() - 1);
+            return TaskFactory.createEvent(parts[0], isDone, LocalDateTime.parse(dates[0]), LocalDateTime.parse(end));
+        }
+        }
+    }
+}
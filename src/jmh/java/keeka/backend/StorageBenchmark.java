@@ -0,0 +1,66 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import keeka.tasks.Task;
+
+/**
+ * Measures appending one task and rewriting every task, for both storage backends.
+ * The text backend commits appends with the durability set by the {@code keeka.durability}
+ * system property, as the application does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({".txt", MappedStorage.FILE_EXTENSION})
+    private String extension;
+
+    private Path directory;
+    private Storage storage;
+    private List<Task> tasks;
+    private Task addedTask;
+    private int nextId;
+
+    @Setup
+    public void openStorage() throws IOException {
+        directory = Files.createTempDirectory("keeka-jmh");
+        tasks = BenchmarkTasks.createTaskList(size, false).getAllTasks();
+        storage = Storage.open(BenchmarkTasks.writeSaveFile(directory, extension, size).toString());
+        addedTask = TaskFactory.createToDo("benchmark task", false);
+        nextId = size + 1;
+    }
+
+    @TearDown
+    public void closeStorage() {
+        storage.close();
+        BenchmarkTasks.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void saveTask() throws IOException {
+        storage.saveTask(addedTask, nextId++);
+    }
+
+    @Benchmark
+    public void updateAllTasks() throws IOException {
+        storage.updateAllTasks(tasks);
+    }
+}
@@ -0,0 +1,66 @@
+package keeka.backend;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import keeka.tasks.Task;
+
+/**
+ * Measures searching the task list by word, which is served by the token index, and by
+ * a substring that is not a whole word, which falls back to a scan or the trigram index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    private static final int LIVE_SEARCH_LIMIT = 500;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean isTrigramIndexed;
+
+    private TaskList taskList;
+    private String selectiveWords;
+    private String commonWord;
+    private String substring;
+
+    @Setup
+    public void createTaskList() {
+        taskList = BenchmarkTasks.createTaskList(size, isTrigramIndexed);
+        selectiveWords = "report " + (size / 4 * 4 + 1 - 4);
+        commonWord = "chapter";
+        substring = "eport " + (size / 2);
+    }
+
+    @Benchmark
+    public List<Task> findSelectiveWords() {
+        return taskList.findTasks(selectiveWords);
+    }
+
+    @Benchmark
+    public List<Task> findCommonWord() {
+        return taskList.findTasks(commonWord);
+    }
+
+    @Benchmark
+    public List<Task> findSubstring() {
+        return taskList.findTasks(substring);
+    }
+
+    @Benchmark
+    public int findCommonWordInBatches(Blackhole blackhole) {
+        return taskList.findTasks(commonWord, LIVE_SEARCH_LIMIT, blackhole::consume);
+    }
+}
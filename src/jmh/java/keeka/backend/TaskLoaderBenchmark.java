@@ -0,0 +1,56 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures loading a whole save file into an empty task list, for both storage backends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskLoaderBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({".txt", MappedStorage.FILE_EXTENSION})
+    private String extension;
+
+    private Path directory;
+    private Path saveFile;
+
+    @Setup
+    public void writeSaveFile() throws IOException {
+        directory = Files.createTempDirectory("keeka-jmh");
+        saveFile = BenchmarkTasks.writeSaveFile(directory, extension, size);
+    }
+
+    @TearDown
+    public void deleteSaveFile() {
+        BenchmarkTasks.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public TaskList loadTasks() {
+        TaskList taskList = new TaskList();
+        Storage storage = Storage.open(saveFile.toString());
+        try {
+            new TaskLoader(taskList, storage, new Parser()).loadTasks();
+        } finally {
+            storage.close();
+        }
+        return taskList;
+    }
+}
@@ -0,0 +1,66 @@
+package keeka.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks names at random in proportion to their weights, as given by a mix such as
+ * {@code todo=50,deadline=30,event=20}.
+ */
+public class WeightedChoice {
+    private final List<String> names;
+    private final int[] cumulativeWeights;
+
+    private WeightedChoice(List<String> names, int[] cumulativeWeights) {
+        this.names = names;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * Parses a mix of comma-separated {@code name=weight} pairs.
+     *
+     * @param spec The mix to parse.
+     * @return A choice between the named options.
+     * @throws IllegalArgumentException If the mix is malformed or its weights add up to zero.
+     */
+    public static WeightedChoice parse(String spec) {
+        List<String> names = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split("=", 2);
+            if (parts.length < 2 || Integer.parseInt(parts[1]) < 0) {
+                throw new IllegalArgumentException("Invalid mix entry: " + pair);
+            }
+            names.add(parts[0]);
+            weights.add(Integer.parseInt(parts[1]));
+        }
+
+        int[] cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Mix has no positive weight: " + spec);
+        }
+        return new WeightedChoice(names, cumulativeWeights);
+    }
+
+    /**
+     * Picks a name at random.
+     *
+     * @param random The source of randomness.
+     * @return One of the names, each chosen with probability proportional to its weight.
+     */
+    public String next(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return names.get(i);
+            }
+        }
+        throw new AssertionError("Ticket beyond the total weight");
+    }
+}
@@ -0,0 +1,183 @@
+package keeka.backend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+/**
+ * Generates random but reproducible tasks and commands for sizing and load testing.
+ * Task types and commands are drawn from configurable mixes, dates spread uniformly over
+ * a window of days, and descriptions are built from a fixed vocabulary, so the word
+ * frequencies seen by searches stay the same at every list size.
+ *
+ * <p>The generator keeps track of how long the task list will be after each command it
+ * has produced, so commands that take a task position always name a task that exists.
+ */
+public class WorkloadGenerator {
+    private static final String[] VOCABULARY = {
+        "read", "write", "review", "submit", "plan", "call", "email", "buy", "fix", "clean",
+        "book", "report", "draft", "budget", "meeting", "lecture", "tutorial", "project", "invoice", "slides",
+        "groceries", "laundry", "dentist", "gym", "team", "client", "module", "exam", "essay", "lab",
+        "chapter", "notes", "paper", "proposal", "design", "release", "server", "backup", "tickets", "flight",
+        "hotel", "birthday", "gift", "dinner", "lunch", "coffee", "weekly", "monthly", "final", "urgent",
+    };
+    private static final int MAX_EVENT_HOURS = 4;
+    private static final int MAX_EVENT_DAYS = 2;
+    private static final int QUERY_WINDOW_DAYS = 7;
+
+    private final Random random;
+    private final WeightedChoice taskMix;
+    private final WeightedChoice commandMix;
+    private final LocalDate start;
+    private final int spanDays;
+    private final int timedPercent;
+    private final int minWords;
+    private final int maxWords;
+    private int listSize;
+
+    /**
+     * Constructs a WorkloadGenerator.
+     *
+     * @param seed The seed that makes the output reproducible.
+     * @param taskMix The mix of task types, named {@code todo}, {@code deadline} and {@code event}.
+     * @param commandMix The mix of commands, named by their command words.
+     * @param start The first day dates are drawn from.
+     * @param spanDays The number of days dates are drawn from.
+     * @param timedPercent The percentage of deadlines and events given a time as well as a date.
+     * @param minWords The fewest words in a description.
+     * @param maxWords The most words in a description.
+     */
+    public WorkloadGenerator(long seed, WeightedChoice taskMix, WeightedChoice commandMix, LocalDate start,
+            int spanDays, int timedPercent, int minWords, int maxWords) {
+
+        assert spanDays > 0 : "Dates must be drawn from at least one day";
+        assert minWords > 0 && minWords <= maxWords : "Word counts must form a positive range";
+
+        this.random = new Random(seed);
+        this.taskMix = taskMix;
+        this.commandMix = commandMix;
+        this.start = start;
+        this.spanDays = spanDays;
+        this.timedPercent = timedPercent;
+        this.minWords = minWords;
+        this.maxWords = maxWords;
+    }
+
+    /**
+     * Tells the generator how many tasks the list holds before the first command.
+     *
+     * @param listSize The number of tasks already in the list.
+     */
+    public void setListSize(int listSize) {
+        this.listSize = listSize;
+    }
+
+    /**
+     * Generates a task drawn from the task mix.
+     *
+     * @return A new task without an ID.
+     */
+    public Task nextTask() {
+        return nextTask(taskMix.next(random));
+    }
+
+    /**
+     * Generates a command drawn from the command mix. Commands that need an existing task
+     * turn into additions while the list is empty.
+     *
+     * @return A command as the user would type it.
+     */
+    public String nextCommand() {
+        String command = commandMix.next(random);
+        if (listSize == 0 && (command.equals("mark") || command.equals("unmark") || command.equals("delete"))) {
+            command = "todo";
+        }
+
+        return switch (command) {
+        case "todo", "deadline", "event" -> {
+            listSize++;
+            yield toCommand(nextTask(command));
+        }
+        case "mark", "unmark" -> command + " " + (1 + random.nextInt(listSize));
+        case "delete" -> "delete " + (1 + random.nextInt(listSize--));
+        case "find" -> "find " + nextWord();
+        case "list" -> "list";
+        case "due" -> "due before " + nextDate();
+        case "between" -> nextBetweenCommand();
+        case "free" -> "free " + nextDate();
+        default -> throw new IllegalArgumentException("Unknown command in mix: " + command);
+        };
+    }
+
+    private Task nextTask(String type) {
+        String description = nextDescription();
+        boolean isDone = random.nextInt(4) == 0;
+        boolean isTimed = random.nextInt(100) < timedPercent;
+        return switch (type) {
+        case "todo" -> TaskFactory.createToDo(description, isDone);
+        case "deadline" -> isTimed
+                ? TaskFactory.createDeadline(description, isDone, nextDateTime())
+                : TaskFactory.createDeadline(description, isDone, nextDate());
+        case "event" -> isTimed ? nextTimedEvent(description, isDone) : nextDatedEvent(description, isDone);
+        default -> throw new IllegalArgumentException("Unknown task type in mix: " + type);
+        };
+    }
+
+    private Task nextTimedEvent(String description, boolean isDone) {
+        LocalDateTime from = nextDateTime();
+        return TaskFactory.createEvent(description, isDone, from, from.plusHours(1 + random.nextInt(MAX_EVENT_HOURS)));
+    }
+
+    private Task nextDatedEvent(String description, boolean isDone) {
+        LocalDate from = nextDate();
+        return TaskFactory.createEvent(description, isDone, from, from.plusDays(random.nextInt(MAX_EVENT_DAYS + 1)));
+    }
+
+    private String nextBetweenCommand() {
+        LocalDate from = nextDate();
+        return "between " + from + " " + from.plusDays(QUERY_WINDOW_DAYS - 1);
+    }
+
+    /**
+     * Writes the command that adds the given task.
+     */
+    private static String toCommand(Task task) {
+        if (task instanceof Deadline deadline) {
+            Object due = deadline.getDateTime() != null ? deadline.getDateTime() : deadline.getDate();
+            return "deadline " + task.getDescription() + " /by " + due;
+        } else if (task instanceof Event event) {
+            Object from = event.getStartDateTime() != null ? event.getStartDateTime() : event.getStartDate();
+            Object to = event.getEndDateTime() != null ? event.getEndDateTime() : event.getEndDate();
+            return "event " + task.getDescription() + " /from " + from + " /to " + to;
+        }
+        return "todo " + task.getDescription();
+    }
+
+    private String nextDescription() {
+        int wordCount = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder description = new StringBuilder(nextWord());
+        for (int i = 1; i < wordCount; i++) {
+            description.append(' ').append(nextWord());
+        }
+        return description.toString();
+    }
+
+    private String nextWord() {
+        return VOCABULARY[random.nextInt(VOCABULARY.length)];
+    }
+
+    private LocalDate nextDate() {
+        return start.plusDays(random.nextInt(spanDays));
+    }
+
+    /**
+     * Draws a date-time on a quarter hour between 8:00 and 20:00.
+     */
+    private LocalDateTime nextDateTime() {
+        return nextDate().atTime(8 + random.nextInt(12), 15 * random.nextInt(4));
+    }
+}
@@ -0,0 +1,91 @@
+package keeka.backend;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options shared by the {@link DatasetGenerator} and the {@link LoadReplay} driver,
+ * given as {@code --name value} pairs. Every option has a default, so both tools run without
+ * arguments.
+ */
+public class WorkloadOptions {
+    private static final String DEFAULT_TASK_MIX = "todo=50,deadline=30,event=20";
+    private static final String DEFAULT_COMMAND_MIX =
+            "todo=20,deadline=10,event=10,mark=15,unmark=5,delete=10,find=20,list=1,due=4,between=3,free=2";
+
+    private final Map<String, String> values;
+
+    private WorkloadOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Parses options of the form {@code --name value}.
+     *
+     * @param args The command-line arguments.
+     * @return The parsed options.
+     * @throws IllegalArgumentException If an argument is not a name followed by a value.
+     */
+    public static WorkloadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value but got: " + args[i]);
+            }
+            values.put(args[i].substring(2), args[i + 1]);
+        }
+        return new WorkloadOptions(values);
+    }
+
+    /**
+     * Returns a text option.
+     *
+     * @param name The option name without the leading dashes.
+     * @param defaultValue The value used when the option is not given.
+     * @return The value of the option.
+     */
+    public String getText(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Returns a whole-number option, which may use underscores as in {@code 1_000_000}.
+     *
+     * @param name The option name without the leading dashes.
+     * @param defaultValue The value used when the option is not given.
+     * @return The value of the option.
+     */
+    public long getNumber(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    /**
+     * Checks whether an option was given.
+     *
+     * @param name The option name without the leading dashes.
+     * @return True if the option was given, false otherwise.
+     */
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * Creates the workload generator described by the options: {@code --seed},
+     * {@code --task-mix}, {@code --command-mix}, {@code --start}, {@code --span-days},
+     * {@code --timed-percent} and {@code --words} given as {@code min-max}.
+     *
+     * @return A generator producing tasks and commands as configured.
+     */
+    public WorkloadGenerator createGenerator() {
+        String[] words = getText("words", "2-8").split("-", 2);
+        return new WorkloadGenerator(getNumber("seed", 42),
+                WeightedChoice.parse(getText("task-mix", DEFAULT_TASK_MIX)),
+                WeightedChoice.parse(getText("command-mix", DEFAULT_COMMAND_MIX)),
+                LocalDate.parse(getText("start", "2025-01-01")),
+                (int) getNumber("span-days", 365),
+                (int) getNumber("timed-percent", 50),
+                Integer.parseInt(words[0]), Integer.parseInt(words[words.length - 1]));
+    }
+}
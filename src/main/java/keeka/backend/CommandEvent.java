@@ -0,0 +1,27 @@
+package keeka.backend;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the dispatch of one user command, so that the storage and
+ * index events a command causes show up nested inside it in a recording.
+ */
+@Name("keeka.Command")
+@Label("Command")
+@Category("Keeka")
+@Description("A user command routed to its handler")
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command")
+    @Description("The lower-case command word")
+    private String command;
+
+    public void setCommand(String command) {
+        this.command = command;
+    }
+}
@@ -1,5 +1,6 @@
 package keeka.backend;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import keeka.tasks.Deadline;
@@ -9,14 +10,32 @@ import keeka.tasks.ToDo;
 
 /**
  * Central command handler that processes all user commands and coordinates
- * between parsing, task management, storage, and user interface components.
- * Acts as the main controller for command execution in the application.
+ * between parsing, task management and storage.
+ * Acts as the main controller for command execution in the application. Every command returns
+ * a {@link CommandResult}, which is only turned into text by {@link Ui} if it is shown.
+ * Commands given as strings are tokenized into a {@link CommandLine} kept by the handler,
+ * so a handler must not be shared between threads.
  */
 public class CommandHandler {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
     private final TaskList taskList;
     private final Storage storage;
     private final Parser parser;
-    private final Ui ui;
+    private final int pageSize;
+    private final CommandLine commandLine = new CommandLine();
+
+    /**
+     * Constructs a CommandHandler with required dependencies for command processing,
+     * listing {@value #DEFAULT_PAGE_SIZE} tasks per page.
+     *
+     * @param taskList The task list manager for storing and retrieving tasks.
+     * @param storage The storage handler for file persistence operations.
+     * @param parser The parser for processing user input and saved content.
+     */
+    public CommandHandler(TaskList taskList, Storage storage, Parser parser) {
+        this(taskList, storage, parser, DEFAULT_PAGE_SIZE);
+    }
 
     /**
      * Constructs a CommandHandler with required dependencies for command processing.
@@ -24,37 +43,40 @@ public class CommandHandler {
      * @param taskList The task list manager for storing and retrieving tasks.
      * @param storage The storage handler for file persistence operations.
      * @param parser The parser for processing user input and saved content.
-     * @param ui The user interface handler for displaying messages and responses.
+     * @param pageSize The number of tasks a list command shows per page.
      */
-    public CommandHandler(TaskList taskList, Storage storage, Parser parser, Ui ui) {
+    public CommandHandler(TaskList taskList, Storage storage, Parser parser, int pageSize) {
+
+        assert pageSize > 0 : "Page size must be positive";
+
         this.taskList = taskList;
         this.storage = storage;
         this.parser = parser;
-        this.ui = ui;
+        this.pageSize = pageSize;
     }
 
     /**
      * Processes todo task creation commands by parsing input, creating the task,
-     * adding it to the task list, persisting to storage, and showing confirmation.
+     * adding it to the task list and persisting it to storage.
      *
      * @param input The todo task description provided by the user.
+     * @return The added todo, or an error.
      */
-    public void handleTodoCommand(String input) {
+    public CommandResult handleTodoCommand(String input) {
 
         assert input != null : "Input for the todo command should not be null";
 
         if (input.trim().isEmpty()) {
-            ui.showError("Invalid task invocation!");
-            return;
+            return invalidInput("Invalid task invocation!");
         }
 
         try {
             ToDo todo = TaskFactory.createToDo(input.trim(), false);
             taskList.addTask(todo);
-            storage.saveTask(todo, taskList.size());
-            ui.showTaskAdded(todo, taskList.size());
+            storage.recordMutation(Mutation.added(todo), taskList);
+            return new CommandResult.TaskAdded(todo, taskList.size(), List.of());
         } catch (Exception e) {
-            ui.showError("Failed to create todo: " + e.getMessage());
+            return failure("Failed to create todo: " + e.getMessage());
         }
     }
 
@@ -63,18 +85,24 @@ public class CommandHandler {
      * and due date, creating the deadline task, and managing storage operations.
      *
      * @param input The deadline command string containing description and due date.
+     * @return The added deadline, or an error.
      */
-    public void handleDeadlineCommand(String input) {
+    public CommandResult handleDeadlineCommand(String input) {
 
         assert input != null : "Input for the deadline command should not be null";
 
-        if (input.trim().isEmpty() || !input.contains("/by")) {
-            ui.showError("Invalid task invocation!");
-            return;
-        }
+        return handleDeadlineCommand(commandLine.tokenizeArguments("deadline", input));
+    }
 
+    /**
+     * Processes a tokenized deadline command, reading the due date from its {@code /by} flag.
+     *
+     * @param line The tokenized deadline command.
+     * @return The added deadline, or an error.
+     */
+    public CommandResult handleDeadlineCommand(CommandLine line) {
         try {
-            Parser.DeadlineInput deadlineInput = parser.parseDeadlineInput(input.trim());
+            Parser.DeadlineInput deadlineInput = parser.parseDeadlineInput(line);
             Deadline deadline;
 
             if (deadlineInput.getDateTime() != null) {
@@ -86,10 +114,10 @@ public class CommandHandler {
             }
 
             taskList.addTask(deadline);
-            storage.saveTask(deadline, taskList.size());
-            ui.showTaskAdded(deadline, taskList.size());
+            storage.recordMutation(Mutation.added(deadline), taskList);
+            return new CommandResult.TaskAdded(deadline, taskList.size(), List.of());
         } catch (Exception e) {
-            ui.showError("Invalid task invocation!");
+            return invalidInput("Invalid task invocation!");
         }
     }
 
@@ -98,18 +126,25 @@ public class CommandHandler {
      * start time, and end time, then creating and storing the event task.
      *
      * @param input The event command string containing description, start time, and end time.
+     * @return The added event with the events it overlaps, or an error.
      */
-    public void handleEventCommand(String input) {
+    public CommandResult handleEventCommand(String input) {
 
         assert input != null : "Input for the event command should not be null";
 
-        if (input.trim().isEmpty() || !input.contains("/from") || !input.contains("/to")) {
-            ui.showError("Invalid task invocation!");
-            return;
-        }
+        return handleEventCommand(commandLine.tokenizeArguments("event", input));
+    }
 
+    /**
+     * Processes a tokenized event command, reading its time range from the {@code /from}
+     * and {@code /to} flags.
+     *
+     * @param line The tokenized event command.
+     * @return The added event with the events it overlaps, or an error.
+     */
+    public CommandResult handleEventCommand(CommandLine line) {
         try {
-            Parser.EventInput eventInput = parser.parseEventInput(input.trim());
+            Parser.EventInput eventInput = parser.parseEventInput(line);
             Event event;
 
             if (eventInput.getStartDateTime() != null) {
@@ -121,142 +156,363 @@ public class CommandHandler {
             }
 
             taskList.addTask(event);
-            storage.saveTask(event, taskList.size());
-            ui.showTaskAdded(event, taskList.size());
+            storage.recordMutation(Mutation.added(event), taskList);
+            return new CommandResult.TaskAdded(event, taskList.size(), taskList.findOverlappingEvents(event));
         } catch (Exception e) {
-            ui.showError("Invalid task invocation!");
+            return invalidInput("Invalid task invocation!");
         }
     }
 
     /**
      * Processes task marking commands to set a task as completed.
-     * Updates the task status, persists changes to storage, and shows confirmation.
+     * Updates the task status and persists the change to storage.
      *
-     * @param input The mark command containing the task index to be marked.
+     * @param input The mark command containing the task position or #id to be marked.
+     * @return The marked task, or an error.
      */
-    public void handleMarkCommand(String input) {
+    public CommandResult handleMarkCommand(String input) {
 
         assert input != null : "Input for the mark command should not be null";
 
+        return handleMarkCommand(commandLine.tokenize(input));
+    }
+
+    /**
+     * Processes a tokenized mark command, taking the task reference from its first argument.
+     *
+     * @param line The tokenized mark command.
+     * @return The marked task, or an error.
+     */
+    public CommandResult handleMarkCommand(CommandLine line) {
         try {
-            int index = Integer.parseInt(input.split(" ")[1]) - 1;
+            int index = resolveIndex(line.getFirstArgument());
             Task task = taskList.getTask(index);
             if (task != null) {
-                task.markAsDone();
-                storage.updateAllTasks(taskList.getAllTasks());
-                ui.showTaskMarked(task);
+                taskList.markTask(index);
+                storage.recordMutation(Mutation.marked(task.getId()), taskList);
+                return new CommandResult.TaskMarked(task);
             } else {
-                ui.showError("Invalid task index");
+                return taskNotFound();
             }
         } catch (Exception e) {
-            ui.showError("Failed to mark task: " + e.getMessage());
+            return failure("Failed to mark task: " + e.getMessage());
         }
     }
 
     /**
      * Processes task unmarking commands to set a task as not completed.
-     * Updates the task status, persists changes to storage, and shows confirmation.
+     * Updates the task status and persists the change to storage.
      *
-     * @param input The unmark command containing the task index to be unmarked.
+     * @param input The unmark command containing the task position or #id to be unmarked.
+     * @return The unmarked task, or an error.
      */
-    public void handleUnmarkCommand(String input) {
+    public CommandResult handleUnmarkCommand(String input) {
 
         assert input != null : "Input for the unmark command should not be null";
 
+        return handleUnmarkCommand(commandLine.tokenize(input));
+    }
+
+    /**
+     * Processes a tokenized unmark command, taking the task reference from its first argument.
+     *
+     * @param line The tokenized unmark command.
+     * @return The unmarked task, or an error.
+     */
+    public CommandResult handleUnmarkCommand(CommandLine line) {
         try {
-            int index = Integer.parseInt(input.split(" ")[1]) - 1;
+            int index = resolveIndex(line.getFirstArgument());
             Task task = taskList.getTask(index);
             if (task != null) {
-                task.markAsNotDone();
-                storage.updateAllTasks(taskList.getAllTasks());
-                ui.showTaskUnmarked(task);
+                taskList.unmarkTask(index);
+                storage.recordMutation(Mutation.unmarked(task.getId()), taskList);
+                return new CommandResult.TaskUnmarked(task);
             } else {
-                ui.showError("Invalid task index");
+                return taskNotFound();
             }
         } catch (Exception e) {
-            ui.showError("Failed to unmark task: " + e.getMessage());
+            return failure("Failed to unmark task: " + e.getMessage());
         }
     }
 
     /**
      * Processes task deletion commands by removing the specified task from the list,
-     * updating storage, and showing confirmation with remaining task count.
+     * updating storage, and reporting the remaining task count.
      *
-     * @param input The delete command containing the task index to be removed.
+     * @param input The delete command containing the task position or #id to be removed.
+     * @return The deleted task, or an error.
      */
-    public void handleDeleteCommand(String input) {
+    public CommandResult handleDeleteCommand(String input) {
 
         assert input != null : "Input for the delete command should not be null";
 
+        return handleDeleteCommand(commandLine.tokenize(input));
+    }
+
+    /**
+     * Processes a tokenized delete command, taking the task reference from its first argument.
+     *
+     * @param line The tokenized delete command.
+     * @return The deleted task, or an error.
+     */
+    public CommandResult handleDeleteCommand(CommandLine line) {
         try {
-            int index = Integer.parseInt(input.split(" ")[1]) - 1;
+            int index = resolveIndex(line.getFirstArgument());
             Task task = taskList.getTask(index);
             if (task != null) {
                 taskList.removeTask(index);
-                storage.updateAllTasks(taskList.getAllTasks());
-                ui.showTaskDeleted(task, taskList.size());
+                storage.recordMutation(Mutation.deleted(task.getId()), taskList);
+                return new CommandResult.TaskDeleted(task, taskList.size());
             } else {
-                ui.showError("Invalid task index");
+                return taskNotFound();
             }
         } catch (Exception e) {
-            ui.showError("Failed to delete task: " + e.getMessage());
+            return failure("Failed to delete task: " + e.getMessage());
         }
     }
 
     /**
      * Processes find commands to search for tasks containing the specified keyword.
-     * Displays all matching tasks or a message if no matches are found.
+     * Collects all matching tasks, which may be none.
      *
      * @param input The find command containing the search keyword.
+     * @return The matching tasks, or an error.
      */
-    public void handleFindCommand(String input) {
+    public CommandResult handleFindCommand(String input) {
 
         assert input != null : "Input for the find command should not be null";
 
+        return handleFindCommand(commandLine.tokenize(input));
+    }
+
+    /**
+     * Processes a tokenized find command, searching for all of its arguments as the keyword.
+     *
+     * @param line The tokenized find command.
+     * @return The matching tasks, or an error.
+     */
+    public CommandResult handleFindCommand(CommandLine line) {
+        String keyword = line.getArguments();
+        if (keyword.isEmpty()) {
+            return invalidInput("Invalid find query! Use: find <keyword>");
+        }
+
         try {
-            String keyword = input.split(" ", 2)[1];
             List<Task> foundTasks = taskList.findTasks(keyword);
-            ui.showFoundTasks(foundTasks);
+            return new CommandResult.TasksFound(foundTasks);
+        } catch (Exception e) {
+            return failure("Failed to find tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes due commands of the form {@code before <date>} to display the deadlines
+     * due before the given date or date-time, earliest first.
+     *
+     * @param input The arguments of the due command.
+     * @return The matching deadlines, or an error.
+     */
+    public CommandResult handleDueCommand(String input) {
+
+        assert input != null : "Input for the due command should not be null";
+
+        return handleDueCommand(commandLine.tokenizeArguments("due", input));
+    }
+
+    /**
+     * Processes a tokenized due command, reading {@code before} from its first argument
+     * and the date from the rest.
+     *
+     * @param line The tokenized due command.
+     * @return The matching deadlines, or an error.
+     */
+    public CommandResult handleDueCommand(CommandLine line) {
+        String date = line.getArgumentsFrom(1);
+        if (!line.getFirstArgument().equals("before") || date.isEmpty()) {
+            return invalidInput("Invalid due query! Use: due before <date>");
+        }
+
+        try {
+            return new CommandResult.TasksScheduled(taskList.findDeadlinesBefore(parser.parseDateBound(date)));
+        } catch (Exception e) {
+            return failure("Failed to find deadlines: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes between commands to display the deadlines due and events starting
+     * between two dates, both included, earliest first.
+     *
+     * @param input The two dates bounding the range.
+     * @return The matching deadlines and events, or an error.
+     */
+    public CommandResult handleBetweenCommand(String input) {
+
+        assert input != null : "Input for the between command should not be null";
+
+        return handleBetweenCommand(commandLine.tokenizeArguments("between", input));
+    }
+
+    /**
+     * Processes a tokenized between command, reading the two dates from its arguments.
+     *
+     * @param line The tokenized between command.
+     * @return The matching deadlines and events, or an error.
+     */
+    public CommandResult handleBetweenCommand(CommandLine line) {
+        try {
+            Parser.DateRangeInput range = parser.parseDateRangeInput(line);
+            return new CommandResult.TasksScheduled(taskList.findTasksScheduled(range.getFrom(), range.getTo()));
+        } catch (Exception e) {
+            return failure("Failed to find scheduled tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes agenda commands to display the deadlines due and events starting
+     * in the given month, earliest first.
+     *
+     * @param input The month in {@code yyyy-MM} format.
+     * @return The matching deadlines and events, or an error.
+     */
+    public CommandResult handleAgendaCommand(String input) {
+
+        assert input != null : "Input for the agenda command should not be null";
+
+        try {
+            Parser.DateRangeInput range = parser.parseMonthInput(input);
+            return new CommandResult.TasksScheduled(taskList.findTasksScheduled(range.getFrom(), range.getTo()));
         } catch (Exception e) {
-            ui.showError("Failed to find tasks: " + e.getMessage());
+            return failure("Failed to show agenda: " + e.getMessage());
         }
     }
 
     /**
-     * Processes list commands to display all tasks currently in the task list.
-     * Shows either the complete task list or a message if the list is empty.
+     * Processes free commands to display the periods of the given day that are not
+     * taken by any event.
+     *
+     * @param input The day in {@code yyyy-MM-dd} format.
+     * @return The free slots of the day, or an error.
      */
-    public void handleListCommand() {
-        ui.showTaskList(taskList.getAllTasks());
+    public CommandResult handleFreeCommand(String input) {
+
+        assert input != null : "Input for the free command should not be null";
+
+        try {
+            LocalDate day = LocalDate.parse(input.trim());
+            List<TimeSlot> slots = taskList.findFreeSlots(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            return new CommandResult.FreeSlots(day, slots);
+        } catch (Exception e) {
+            return failure("Failed to find free time: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes list commands without arguments to display the first page of the task list.
+     * Shows either the whole list, if it fits on a page, or a message if the list is empty.
+     *
+     * @return The tasks on the first page.
+     */
+    public CommandResult handleListCommand() {
+        return handleListCommand("");
+    }
+
+    /**
+     * Processes list commands to display one page of the task list, given as {@code page <n>},
+     * or the tasks between two positions, given as {@code <from>-<to>}. Without arguments the
+     * first page is shown. Only the requested tasks are copied out of the list.
+     *
+     * @param input The arguments of the list command.
+     * @return The tasks in the requested range, or an error.
+     */
+    public CommandResult handleListCommand(String input) {
+
+        assert input != null : "Input for the list command should not be null";
+
+        Parser.ListRangeInput range;
+        try {
+            range = parser.parseListRange(input, pageSize);
+        } catch (Exception e) {
+            return invalidInput("Invalid list query! Use: list, list page <n> or list <from>-<to>");
+        }
+
+        int size = taskList.size();
+        if (size > 0 && range.getFromIndex() >= size) {
+            return new CommandResult.Error(CommandResult.Error.Code.OUT_OF_RANGE,
+                    "There are only " + size + " task(s) in the list!");
+        }
+        int fromIndex = Math.min(range.getFromIndex(), size);
+        int toIndex = Math.min(range.getToIndex(), size);
+        return new CommandResult.TasksListed(taskList.getTasks(fromIndex, toIndex), fromIndex, size);
     }
 
     /**
      * Processes update commands to modify existing task properties such as
      * description or dates. Creates a new task with updated values and replaces the original.
      *
-     * @param input The update command containing task index, field type, and new value.
+     * @param input The update command containing task position or #id, field type, and new value.
+     * @return The updated task, or an error.
      */
-    public void handleUpdateCommand(String input) {
+    public CommandResult handleUpdateCommand(String input) {
 
         assert input != null : "Input for the update command should not be null";
 
+        return handleUpdateCommand(commandLine.tokenizeArguments("update", input));
+    }
+
+    /**
+     * Processes a tokenized update command, reading the task reference, field type
+     * and new value from its arguments.
+     *
+     * @param line The tokenized update command.
+     * @return The updated task, or an error.
+     */
+    public CommandResult handleUpdateCommand(CommandLine line) {
         try {
-            Parser.UpdateInput updateInput = parser.parseUpdateInput(input);
-            Task currentTask = taskList.getTask(updateInput.getTaskIndex());
+            Parser.UpdateInput updateInput = parser.parseUpdateInput(line);
+            int index = resolveIndex(updateInput.getTaskReference());
+            Task currentTask = taskList.getTask(index);
 
             if (currentTask != null) {
                 Task updatedTask = createUpdatedTask(currentTask, updateInput);
-                taskList.replaceTask(updateInput.getTaskIndex(), updatedTask);
-                storage.updateAllTasks(taskList.getAllTasks());
-                ui.showTaskUpdated(updatedTask);
+                taskList.replaceTask(index, updatedTask);
+                storage.recordMutation(Mutation.replaced(updatedTask), taskList);
+                return new CommandResult.TaskUpdated(updatedTask);
             } else {
-                ui.showError("Invalid task index");
+                return taskNotFound();
             }
         } catch (Exception e) {
-            ui.showError("Failed to update task: " + e.getMessage());
+            return failure("Failed to update task: " + e.getMessage());
         }
     }
 
+    private static CommandResult invalidInput(String message) {
+        return new CommandResult.Error(CommandResult.Error.Code.INVALID_INPUT, message);
+    }
+
+    private static CommandResult taskNotFound() {
+        return new CommandResult.Error(CommandResult.Error.Code.TASK_NOT_FOUND, "Invalid task index");
+    }
+
+    private static CommandResult failure(String message) {
+        return new CommandResult.Error(CommandResult.Error.Code.FAILED, message);
+    }
+
+    /**
+     * Resolves a task reference entered by the user, either {@code #id} or a one-based position,
+     * to the current position of the task in the list.
+     *
+     * @param token The task reference entered by the user.
+     * @return The zero-based index of the task, or -1 if no task has the given ID.
+     */
+    private int resolveIndex(String token) {
+        return resolveIndex(parser.parseTaskReference(token));
+    }
+
+    private int resolveIndex(Parser.TaskReference reference) {
+        return reference.isId() ? taskList.indexOfId(reference.getTaskId()) : reference.getTaskIndex();
+    }
+
     /**
      * Creates an updated version of an existing task with new field values.
      * Preserves the completion status and handles different task types appropriately.
@@ -0,0 +1,239 @@
+package keeka.backend;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A user command split into its command word, its arguments and any {@code /flag} options,
+ * such as the {@code /by} of a deadline or the {@code /from} and {@code /to} of an event.
+ * Only the flags of the command being tokenized are recognized, so any other word starting
+ * with a slash stays part of the text around it.
+ *
+ * <p>Tokenizing walks the input once and only records where the command word, the first
+ * few argument words and each flag start and end; strings are created when a part is asked
+ * for. An instance can be reused for the next command, so it is not safe to share between threads.
+ */
+public class CommandLine {
+    private static final Map<String, List<String>> FLAGS_BY_COMMAND =
+            Map.of("deadline", List.of("/by"), "event", List.of("/from", "/to"));
+    private static final int MAX_FLAGS = 4;
+    private static final int MAX_WORDS = 4;
+
+    private final int[] flagStarts = new int[MAX_FLAGS];
+    private final int[] flagEnds = new int[MAX_FLAGS];
+    private final int[] wordStarts = new int[MAX_WORDS];
+    private final int[] wordEnds = new int[MAX_WORDS];
+    private String input = "";
+    private String command = "";
+    private List<String> flags = List.of();
+    private int argumentsStart;
+    private int argumentsEnd;
+    private int wordCount;
+    private int flagCount;
+
+    /**
+     * Tokenizes a complete command, such as {@code deadline submit report /by 2025-03-15}.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return This command line, holding the tokens of the input.
+     */
+    public CommandLine tokenize(String input) {
+
+        assert input != null : "Input should not be null";
+
+        this.input = input;
+        int commandStart = skipWhitespace(0);
+        int commandEnd = skipWord(commandStart);
+        command = input.substring(commandStart, commandEnd).toLowerCase();
+        scanArguments(commandEnd);
+        return this;
+    }
+
+    /**
+     * Tokenizes the arguments of a command given separately from its command word,
+     * such as {@code submit report /by 2025-03-15} for {@code deadline}.
+     *
+     * @param command The command word the arguments belong to, which decides the flags recognized.
+     * @param arguments The arguments entered after the command word.
+     * @return This command line, holding the tokens of the arguments.
+     */
+    public CommandLine tokenizeArguments(String command, String arguments) {
+
+        assert arguments != null : "Arguments should not be null";
+
+        this.input = arguments;
+        this.command = command;
+        scanArguments(0);
+        return this;
+    }
+
+    /**
+     * Returns the command word in lower case.
+     *
+     * @return The command word, empty if the input is blank.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Returns everything after the command word, without surrounding whitespace.
+     *
+     * @return The arguments, empty if there are none.
+     */
+    public String getArguments() {
+        return input.substring(argumentsStart, argumentsEnd);
+    }
+
+    /**
+     * Returns the first whitespace-separated word after the command word,
+     * such as the task reference of a {@code mark} command.
+     *
+     * @return The first argument, empty if there are no arguments.
+     */
+    public String getFirstArgument() {
+        return getArgument(0);
+    }
+
+    /**
+     * Returns the number of whitespace-separated words after the command word, flags included.
+     *
+     * @return The number of argument words.
+     */
+    public int getArgumentCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns one of the first few whitespace-separated words after the command word.
+     *
+     * @param index The zero-based position of the word, less than {@value #MAX_WORDS}.
+     * @return The word, empty if there are not that many words.
+     */
+    public String getArgument(int index) {
+
+        assert index >= 0 && index < MAX_WORDS : "Only the first " + MAX_WORDS + " words are recorded";
+
+        return index < wordCount ? input.substring(wordStarts[index], wordEnds[index]) : "";
+    }
+
+    /**
+     * Returns the arguments from one of the first few words to the end, without trailing whitespace,
+     * such as the new value of an {@code update} command.
+     *
+     * @param index The zero-based position of the first word, less than {@value #MAX_WORDS}.
+     * @return The remaining arguments, empty if there are not that many words.
+     */
+    public String getArgumentsFrom(int index) {
+
+        assert index >= 0 && index < MAX_WORDS : "Only the first " + MAX_WORDS + " words are recorded";
+
+        return index < wordCount ? input.substring(wordStarts[index], argumentsEnd) : "";
+    }
+
+    /**
+     * Returns the arguments that come before the first flag, without surrounding whitespace.
+     *
+     * @return The text before the first flag, or all arguments if there are no flags.
+     */
+    public String getTextBeforeFlags() {
+        int end = flagCount > 0 ? trimEnd(flagStarts[0]) : argumentsEnd;
+        return input.substring(argumentsStart, Math.max(argumentsStart, end));
+    }
+
+    /**
+     * Returns the value of a flag: the text after it up to the next flag or the end of the input,
+     * without surrounding whitespace. A flag only counts if it is one of the flags of the command
+     * and is not the first argument.
+     *
+     * @param flag The flag including its slash, such as {@code /by}.
+     * @return The value of the first occurrence of the flag, or null if the flag is absent.
+     */
+    public String getFlagValue(String flag) {
+        for (int i = 0; i < flagCount; i++) {
+            if (isWord(flagStarts[i], flagEnds[i], flag)) {
+                int start = skipWhitespace(flagEnds[i]);
+                int end = i + 1 < flagCount ? trimEnd(flagStarts[i + 1]) : argumentsEnd;
+                return input.substring(Math.min(start, end), end);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the bounds of the arguments, their first few words and every flag of the command
+     * in a single pass over the input from the given offset.
+     */
+    private void scanArguments(int from) {
+        flags = FLAGS_BY_COMMAND.getOrDefault(command, List.of());
+        wordCount = 0;
+        flagCount = 0;
+        argumentsStart = skipWhitespace(from);
+        argumentsEnd = argumentsStart;
+
+        int wordStart = -1;
+        for (int i = argumentsStart; i <= input.length(); i++) {
+            boolean isWordChar = i < input.length() && !isWhitespace(input.charAt(i));
+            if (isWordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!isWordChar && wordStart >= 0) {
+                recordWord(wordStart, i);
+                wordStart = -1;
+            }
+        }
+    }
+
+    private void recordWord(int start, int end) {
+        if (wordCount < MAX_WORDS) {
+            wordStarts[wordCount] = start;
+            wordEnds[wordCount] = end;
+        }
+        if (wordCount > 0 && flagCount < MAX_FLAGS && input.charAt(start) == '/' && isFlag(start, end)) {
+            flagStarts[flagCount] = start;
+            flagEnds[flagCount++] = end;
+        }
+        wordCount++;
+        argumentsEnd = end;
+    }
+
+    private boolean isFlag(int start, int end) {
+        for (String flag : flags) {
+            if (isWord(start, end, flag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isWord(int start, int end, String word) {
+        return end - start == word.length() && input.regionMatches(start, word, 0, word.length());
+    }
+
+    private int skipWhitespace(int from) {
+        int i = from;
+        while (i < input.length() && isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipWord(int from) {
+        int i = from;
+        while (i < input.length() && !isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int trimEnd(int end) {
+        int i = end;
+        while (i > argumentsStart && isWhitespace(input.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
+}
@@ -0,0 +1,368 @@
+package keeka.backend;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import keeka.tasks.Task;
+
+/**
+ * Outcome of a single command, carrying the data of the result rather than its text.
+ * {@link Ui#show(CommandResult)} turns a result into a message, so callers that only need
+ * the data, such as tests or other programs driving Keeka, never pay for formatting it.
+ */
+public interface CommandResult {
+
+    /**
+     * Result of adding a task, together with any events the new task overlaps.
+     */
+    final class TaskAdded implements CommandResult {
+        private final Task task;
+        private final int totalTasks;
+        private final List<Task> overlapping;
+
+        /**
+         * Constructs a TaskAdded result.
+         *
+         * @param task The task that was added.
+         * @param totalTasks The number of tasks after adding it.
+         * @param overlapping The other events the new task overlaps, empty unless it is an event.
+         */
+        public TaskAdded(Task task, int totalTasks, List<Task> overlapping) {
+            this.task = task;
+            this.totalTasks = totalTasks;
+            this.overlapping = Collections.unmodifiableList(overlapping);
+        }
+
+        /**
+         * Returns the task that was added.
+         *
+         * @return The new task.
+         */
+        public Task getTask() { return task; }
+
+        /**
+         * Returns the number of tasks after the task was added.
+         *
+         * @return The task count.
+         */
+        public int getTotalTasks() { return totalTasks; }
+
+        /**
+         * Returns the other events the new task overlaps.
+         *
+         * @return A read-only list of events, empty unless the task is an event.
+         */
+        public List<Task> getOverlapping() { return overlapping; }
+    }
+
+    /**
+     * Result of marking a task as done.
+     */
+    final class TaskMarked implements CommandResult {
+        private final Task task;
+
+        /**
+         * Constructs a TaskMarked result.
+         *
+         * @param task The task that was marked.
+         */
+        public TaskMarked(Task task) {
+            this.task = task;
+        }
+
+        /**
+         * Returns the task that was marked.
+         *
+         * @return The marked task.
+         */
+        public Task getTask() { return task; }
+    }
+
+    /**
+     * Result of marking a task as not done.
+     */
+    final class TaskUnmarked implements CommandResult {
+        private final Task task;
+
+        /**
+         * Constructs a TaskUnmarked result.
+         *
+         * @param task The task that was unmarked.
+         */
+        public TaskUnmarked(Task task) {
+            this.task = task;
+        }
+
+        /**
+         * Returns the task that was unmarked.
+         *
+         * @return The unmarked task.
+         */
+        public Task getTask() { return task; }
+    }
+
+    /**
+     * Result of deleting a task.
+     */
+    final class TaskDeleted implements CommandResult {
+        private final Task task;
+        private final int remainingTasks;
+
+        /**
+         * Constructs a TaskDeleted result.
+         *
+         * @param task The task that was deleted.
+         * @param remainingTasks The number of tasks left after deleting it.
+         */
+        public TaskDeleted(Task task, int remainingTasks) {
+            this.task = task;
+            this.remainingTasks = remainingTasks;
+        }
+
+        /**
+         * Returns the task that was deleted.
+         *
+         * @return The deleted task.
+         */
+        public Task getTask() { return task; }
+
+        /**
+         * Returns the number of tasks left after the deletion.
+         *
+         * @return The task count.
+         */
+        public int getRemainingTasks() { return remainingTasks; }
+    }
+
+    /**
+     * Result of replacing a task with an updated version.
+     */
+    final class TaskUpdated implements CommandResult {
+        private final Task task;
+
+        /**
+         * Constructs a TaskUpdated result.
+         *
+         * @param task The updated task.
+         */
+        public TaskUpdated(Task task) {
+            this.task = task;
+        }
+
+        /**
+         * Returns the updated task.
+         *
+         * @return The task after the update.
+         */
+        public Task getTask() { return task; }
+    }
+
+    /**
+     * Result of listing a range of the task list.
+     */
+    final class TasksListed implements CommandResult {
+        private final List<Task> tasks;
+        private final int fromIndex;
+        private final int totalCount;
+
+        /**
+         * Constructs a TasksListed result.
+         *
+         * @param tasks The tasks in the range, in list order.
+         * @param fromIndex The zero-based position of the first task of the range in the list.
+         * @param totalCount The number of tasks in the whole list.
+         */
+        public TasksListed(List<Task> tasks, int fromIndex, int totalCount) {
+            this.tasks = Collections.unmodifiableList(tasks);
+            this.fromIndex = fromIndex;
+            this.totalCount = totalCount;
+        }
+
+        /**
+         * Returns the tasks in the listed range.
+         *
+         * @return A read-only list of tasks in list order.
+         */
+        public List<Task> getTasks() { return tasks; }
+
+        /**
+         * Returns the position of the first listed task in the whole list.
+         *
+         * @return The zero-based position.
+         */
+        public int getFromIndex() { return fromIndex; }
+
+        /**
+         * Returns the number of tasks in the whole list.
+         *
+         * @return The task count.
+         */
+        public int getTotalCount() { return totalCount; }
+    }
+
+    /**
+     * Result of searching the task descriptions. The matches are kept as found,
+     * behind a read-only view, without being copied or formatted.
+     */
+    final class TasksFound implements CommandResult {
+        private final List<Task> tasks;
+
+        /**
+         * Constructs a TasksFound result.
+         *
+         * @param tasks The matching tasks in list order.
+         */
+        public TasksFound(List<Task> tasks) {
+            this.tasks = Collections.unmodifiableList(tasks);
+        }
+
+        /**
+         * Returns a read-only view of the matching tasks.
+         *
+         * @return The matches in list order.
+         */
+        public List<Task> getTasks() { return tasks; }
+
+        /**
+         * Returns the number of matching tasks.
+         *
+         * @return The match count.
+         */
+        public int getCount() { return tasks.size(); }
+    }
+
+    /**
+     * Result of a date query over deadlines and events.
+     */
+    final class TasksScheduled implements CommandResult {
+        private final List<Task> tasks;
+
+        /**
+         * Constructs a TasksScheduled result.
+         *
+         * @param tasks The matching deadlines and events, earliest first.
+         */
+        public TasksScheduled(List<Task> tasks) {
+            this.tasks = Collections.unmodifiableList(tasks);
+        }
+
+        /**
+         * Returns the matching deadlines and events.
+         *
+         * @return A read-only list of tasks, earliest first.
+         */
+        public List<Task> getTasks() { return tasks; }
+    }
+
+    /**
+     * Result of looking for the free time in a day.
+     */
+    final class FreeSlots implements CommandResult {
+        private final LocalDate day;
+        private final List<TimeSlot> slots;
+
+        /**
+         * Constructs a FreeSlots result.
+         *
+         * @param day The day that was queried.
+         * @param slots The free slots within the day, in time order.
+         */
+        public FreeSlots(LocalDate day, List<TimeSlot> slots) {
+            this.day = day;
+            this.slots = Collections.unmodifiableList(slots);
+        }
+
+        /**
+         * Returns the day that was queried.
+         *
+         * @return The day.
+         */
+        public LocalDate getDay() { return day; }
+
+        /**
+         * Returns the free slots within the day.
+         *
+         * @return A read-only list of slots in time order.
+         */
+        public List<TimeSlot> getSlots() { return slots; }
+    }
+
+    /**
+     * Result of asking for the timings recorded so far.
+     */
+    final class MetricsReport implements CommandResult {
+        private final Metrics metrics;
+
+        /**
+         * Constructs a MetricsReport result.
+         *
+         * @param metrics The registry holding the timings.
+         */
+        public MetricsReport(Metrics metrics) {
+            this.metrics = metrics;
+        }
+
+        /**
+         * Returns the registry holding the timings.
+         *
+         * @return The metrics registry.
+         */
+        public Metrics getMetrics() { return metrics; }
+    }
+
+    /**
+     * Result of the exit command.
+     */
+    final class Goodbye implements CommandResult {
+    }
+
+    /**
+     * Result of a command that could not be carried out.
+     */
+    final class Error implements CommandResult {
+        private final Code code;
+        private final String message;
+
+        /**
+         * Constructs an Error result.
+         *
+         * @param code The kind of error.
+         * @param message The explanation shown to the user.
+         */
+        public Error(Code code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        /**
+         * Returns the kind of error.
+         *
+         * @return The error code.
+         */
+        public Code getCode() { return code; }
+
+        /**
+         * Returns the explanation shown to the user.
+         *
+         * @return The error message.
+         */
+        public String getMessage() { return message; }
+
+        /**
+         * Kinds of errors a command can end with.
+         */
+        public enum Code {
+            /** The arguments of the command are missing or malformed. */
+            INVALID_INPUT,
+            /** No task has the given position or ID. */
+            TASK_NOT_FOUND,
+            /** The requested range lies past the end of the list. */
+            OUT_OF_RANGE,
+            /** The command word is not known. */
+            UNKNOWN_COMMAND,
+            /** The command failed while running, for example while saving. */
+            FAILED
+        }
+    }
+}
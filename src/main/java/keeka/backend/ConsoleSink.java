@@ -0,0 +1,54 @@
+package keeka.backend;
+
+/**
+ * Sink that frames each message between separator lines and prints to the standard output.
+ * Output is held back until the end of the interaction, or until {@value #CHUNK_SIZE}
+ * characters are pending, so a short response is printed in one write and a long one in
+ * chunks of bounded size. The standard output is looked up on every write, so the sink
+ * follows {@link System#setOut(java.io.PrintStream)}.
+ */
+public class ConsoleSink implements OutputSink {
+    public static final int CHUNK_SIZE = 8192;
+
+    private static final String SEPARATOR = "====================================================================";
+
+    private final StringBuilder pending;
+
+    /**
+     * Constructs a ConsoleSink with nothing pending.
+     */
+    public ConsoleSink() {
+        this.pending = new StringBuilder();
+    }
+
+    @Override
+    public void beginMessage() {
+        pending.append(SEPARATOR).append(System.lineSeparator());
+    }
+
+    @Override
+    public void append(CharSequence text) {
+        pending.append(text);
+        if (pending.length() >= CHUNK_SIZE) {
+            drain();
+        }
+    }
+
+    @Override
+    public void endMessage() {
+        pending.append(System.lineSeparator()).append(SEPARATOR).append(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        System.out.flush();
+    }
+
+    private void drain() {
+        if (pending.length() > 0) {
+            System.out.print(pending);
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package keeka.backend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+/**
+ * Sorted index of deadlines by due time and events by start time.
+ * Times are normalized to epoch seconds in UTC, the same encoding used by the binary save
+ * file, with a date without a time standing for the start of that day. Range queries walk
+ * only the part of the index inside the range, so they take O(log n + k) for k results.
+ *
+ * <p>Deadlines and events are kept in separate maps so that {@link #deadlinesBefore(long)}
+ * never has to skip over events; queries over both merge the two ranges in time order.
+ */
+public class DateIndex {
+    private final NavigableMap<Long, NavigableSet<Integer>> deadlines;
+    private final NavigableMap<Long, NavigableSet<Integer>> events;
+
+    /**
+     * Constructs an empty DateIndex.
+     */
+    public DateIndex() {
+        this.deadlines = new TreeMap<>();
+        this.events = new TreeMap<>();
+    }
+
+    /**
+     * Adds a task to the index if it is a deadline or an event.
+     *
+     * @param task The task to index, which must already have its ID.
+     */
+    public void add(Task task) {
+        NavigableMap<Long, NavigableSet<Integer>> map = mapFor(task);
+        if (map != null) {
+            map.computeIfAbsent(keyOf(task), key -> new TreeSet<>()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task from the index if it is a deadline or an event.
+     *
+     * @param task The task to remove, with the same dates it was indexed with.
+     */
+    public void remove(Task task) {
+        NavigableMap<Long, NavigableSet<Integer>> map = mapFor(task);
+        if (map == null) {
+            return;
+        }
+        long key = keyOf(task);
+        NavigableSet<Integer> ids = map.get(key);
+        if (ids != null && ids.remove(task.getId()) && ids.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Finds the deadlines due strictly before the given time.
+     *
+     * @param before The exclusive upper bound, in epoch seconds.
+     * @return The IDs of the matching deadlines, earliest first.
+     */
+    public List<Integer> deadlinesBefore(long before) {
+        return flatten(deadlines.headMap(before, false));
+    }
+
+    /**
+     * Finds the deadlines due and the events starting within the given time range.
+     *
+     * @param from The inclusive lower bound, in epoch seconds.
+     * @param to The exclusive upper bound, in epoch seconds.
+     * @return The IDs of the matching tasks, earliest first.
+     */
+    public List<Integer> scheduledBetween(long from, long to) {
+        if (from >= to) {
+            return new ArrayList<>();
+        }
+        Iterator<Map.Entry<Long, NavigableSet<Integer>>> deadlineRange =
+                deadlines.subMap(from, true, to, false).entrySet().iterator();
+        Iterator<Map.Entry<Long, NavigableSet<Integer>>> eventRange =
+                events.subMap(from, true, to, false).entrySet().iterator();
+
+        List<Integer> ids = new ArrayList<>();
+        Map.Entry<Long, NavigableSet<Integer>> deadline = next(deadlineRange);
+        Map.Entry<Long, NavigableSet<Integer>> event = next(eventRange);
+        while (deadline != null || event != null) {
+            if (event == null || deadline != null && deadline.getKey() <= event.getKey()) {
+                ids.addAll(deadline.getValue());
+                deadline = next(deadlineRange);
+            } else {
+                ids.addAll(event.getValue());
+                event = next(eventRange);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Normalizes a date to the epoch second at the start of that day.
+     *
+     * @param date The date to normalize.
+     * @return The epoch second in UTC.
+     */
+    public static long keyOf(LocalDate date) {
+        return keyOf(date.atStartOfDay());
+    }
+
+    /**
+     * Normalizes a date-time to its epoch second.
+     *
+     * @param dateTime The date-time to normalize.
+     * @return The epoch second in UTC.
+     */
+    public static long keyOf(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Normalizes the start of an event to an epoch second.
+     *
+     * @param event The event whose start is normalized.
+     * @return The epoch second the event starts at.
+     */
+    public static long startKeyOf(Event event) {
+        return event.getStartDateTime() != null ? keyOf(event.getStartDateTime()) : keyOf(event.getStartDate());
+    }
+
+    /**
+     * Normalizes the end of an event to the exclusive epoch second it ends before.
+     * An event given by dates lasts until the end of its last day, and every event
+     * lasts at least one second.
+     *
+     * @param event The event whose end is normalized.
+     * @return The epoch second just after the event.
+     */
+    public static long endKeyOf(Event event) {
+        long end = event.getEndDateTime() != null
+                ? keyOf(event.getEndDateTime())
+                : keyOf(event.getEndDate().plusDays(1));
+        return Math.max(end, startKeyOf(event) + 1);
+    }
+
+    private NavigableMap<Long, NavigableSet<Integer>> mapFor(Task task) {
+        if (task instanceof Deadline) {
+            return deadlines;
+        } else if (task instanceof Event) {
+            return events;
+        }
+        return null;
+    }
+
+    private static long keyOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return deadline.getDateTime() != null ? keyOf(deadline.getDateTime()) : keyOf(deadline.getDate());
+        }
+        return startKeyOf((Event) task);
+    }
+
+    private static List<Integer> flatten(Map<Long, NavigableSet<Integer>> range) {
+        List<Integer> ids = new ArrayList<>();
+        for (NavigableSet<Integer> sameTime : range.values()) {
+            ids.addAll(sameTime);
+        }
+        return ids;
+    }
+
+    private static <T> T next(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,344 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends lines to a file from a background thread that owns a single long-lived channel.
+ * Lines written while a batch is pending are coalesced, so each batch costs one write
+ * instead of an open, write and close per line.
+ * When a batch is committed, and whether it is also forced to the storage device,
+ * is decided by the writer's {@link Durability}.
+ */
+public class GroupCommitWriter {
+    private final FileChannel channel;
+    private final Durability durability;
+    private final Thread flusher;
+    private List<String> pending;
+    private long firstPendingAt;
+    private long enqueuedCount;
+    private long committedCount;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Opens the given file for appending and starts the background flusher thread.
+     *
+     * @param path The file that lines are appended to.
+     * @param durability The policy deciding when pending lines are committed.
+     * @throws IOException If the file cannot be opened.
+     */
+    public GroupCommitWriter(Path path, Durability durability) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.durability = durability;
+        this.pending = new ArrayList<>();
+        this.flusher = new Thread(this::runFlusher, "keeka-writer-" + path.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues a line to be appended. With per-command durability this waits until
+     * the line has been committed; otherwise it returns as soon as the line is queued.
+     *
+     * @param line The line to append, without a trailing newline.
+     * @throws IOException If the writer is closed or a previous batch failed.
+     */
+    public synchronized void write(String line) throws IOException {
+        checkUsable();
+        if (pending.isEmpty()) {
+            firstPendingAt = System.currentTimeMillis();
+        }
+        pending.add(line);
+        long position = ++enqueuedCount;
+        notifyAll();
+
+        if (durability.isPerCommand()) {
+            awaitCommitted(position);
+        }
+    }
+
+    /**
+     * Commits every queued line and waits until it has reached the file.
+     *
+     * @throws IOException If a batch failed to be written.
+     */
+    public synchronized void flush() throws IOException {
+        checkUsable();
+        isFlushRequested = true;
+        notifyAll();
+        awaitCommitted(enqueuedCount);
+    }
+
+    /**
+     * Drains all queued lines, stops the flusher thread and closes the channel.
+     * Calling this more than once has no further effect.
+     *
+     * @throws IOException If the final batch or closing the channel failed.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Main loop of the flusher thread: waits until a batch is due, takes every pending line
+     * and commits it with a single write.
+     */
+    private void runFlusher() {
+        while (true) {
+            List<String> batch;
+            long batchEnd;
+            synchronized (this) {
+                while (!isBatchDue()) {
+                    if (isClosed && pending.isEmpty()) {
+                        return;
+                    }
+                    waitForBatch();
+                }
+                batch = pending;
+                batchEnd = enqueuedCount;
+                pending = new ArrayList<>();
+                isFlushRequested = false;
+            }
+
+            try {
+                commit(batch);
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+
+            synchronized (this) {
+                committedCount = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    private boolean isBatchDue() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        return isClosed || isFlushRequested || pending.size() >= durability.getMaxRecords()
+                || durability.hasDelay()
+                        && System.currentTimeMillis() - firstPendingAt >= durability.getMaxDelayMillis();
+    }
+
+    private void waitForBatch() {
+        try {
+            if (!pending.isEmpty() && durability.hasDelay()) {
+                long remaining = durability.getMaxDelayMillis() - (System.currentTimeMillis() - firstPendingAt);
+                wait(Math.max(remaining, 1));
+            } else {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isClosed = true;
+        }
+    }
+
+    private void commit(List<String> batch) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : batch) {
+            text.append(line).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        if (durability.isSynced()) {
+            channel.force(false);
+        }
+    }
+
+    private void awaitCommitted(long position) throws IOException {
+        while (committedCount < position && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for write", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (isClosed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    /**
+     * Policy deciding when queued lines are committed to the file. A committed batch is handed
+     * to the operating system; only a synced policy also forces it to the storage device.
+     */
+    public static class Durability {
+        private static final String SYNC_SUFFIX = "+sync";
+
+        private final int maxRecords;
+        private final long maxDelayMillis;
+        private final boolean isPerCommand;
+        private final boolean isSynced;
+
+        private Durability(int maxRecords, long maxDelayMillis, boolean isPerCommand, boolean isSynced) {
+            this.maxRecords = maxRecords;
+            this.maxDelayMillis = maxDelayMillis;
+            this.isPerCommand = isPerCommand;
+            this.isSynced = isSynced;
+        }
+
+        /**
+         * Commits every line before the write returns.
+         *
+         * @return A per-command durability policy.
+         */
+        public static Durability perCommand() {
+            return new Durability(1, 0, true, false);
+        }
+
+        /**
+         * Commits queued lines once the oldest one has waited for the given time.
+         *
+         * @param millis The maximum time a line may stay queued.
+         * @return A time-based durability policy.
+         */
+        public static Durability everyMillis(long millis) {
+            assert millis > 0 : "Delay must be positive";
+            return new Durability(Integer.MAX_VALUE, millis, false, false);
+        }
+
+        /**
+         * Commits queued lines once the given number of lines is pending.
+         * Unlike {@link #perCommand()}, writes return as soon as their line is queued,
+         * even with a batch of one line.
+         *
+         * @param records The number of lines per batch.
+         * @return A count-based durability policy.
+         */
+        public static Durability everyRecords(int records) {
+            assert records > 0 : "Batch size must be positive";
+            return new Durability(records, 0, false, false);
+        }
+
+        /**
+         * Returns this policy with every committed batch also forced to the storage device,
+         * so that it survives a crash of the operating system and not only of the application.
+         *
+         * @return The synced variant of this policy.
+         */
+        public Durability synced() {
+            return new Durability(maxRecords, maxDelayMillis, isPerCommand, true);
+        }
+
+        /**
+         * Parses a durability setting: {@code command}, {@code <n>ms} or {@code <n>records},
+         * optionally followed by {@code +sync} to force every batch to the storage device.
+         *
+         * @param setting The durability setting to parse.
+         * @return The matching durability policy.
+         * @throws IllegalArgumentException If the setting is not recognised or its count is below 1.
+         */
+        public static Durability parse(String setting) {
+            String value = setting.trim().toLowerCase();
+            boolean isSynced = value.endsWith(SYNC_SUFFIX);
+            if (isSynced) {
+                value = value.substring(0, value.length() - SYNC_SUFFIX.length());
+            }
+            try {
+                Durability durability = null;
+                if (value.equals("command")) {
+                    durability = perCommand();
+                } else if (value.endsWith("ms")) {
+                    durability = everyMillis(parsePositive(value.substring(0, value.length() - 2), setting));
+                } else if (value.endsWith("records")) {
+                    durability = everyRecords(parsePositive(value.substring(0, value.length() - 7), setting));
+                }
+                if (durability != null) {
+                    return isSynced ? durability.synced() : durability;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid keeka.durability setting: " + setting);
+            }
+            throw new IllegalArgumentException("Invalid keeka.durability setting: " + setting);
+        }
+
+        private static int parsePositive(String count, String setting) {
+            int value = Integer.parseInt(count);
+            if (value < 1) {
+                throw new IllegalArgumentException("Invalid keeka.durability setting: " + setting
+                        + " (the count must be at least 1)");
+            }
+            return value;
+        }
+
+        public int getMaxRecords() {
+            return maxRecords;
+        }
+
+        public long getMaxDelayMillis() {
+            return maxDelayMillis;
+        }
+
+        /**
+         * Checks whether every write waits for its line to be committed.
+         *
+         * @return True for per-command durability, false otherwise.
+         */
+        public boolean isPerCommand() {
+            return isPerCommand;
+        }
+
+        /**
+         * Checks whether committed batches are also forced to the storage device.
+         *
+         * @return True for a synced policy, false otherwise.
+         */
+        public boolean isSynced() {
+            return isSynced;
+        }
+
+        /**
+         * Checks whether queued lines are committed after a maximum delay.
+         *
+         * @return True for time-based durability, false otherwise.
+         */
+        public boolean hasDelay() {
+            return maxDelayMillis > 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package keeka.backend;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the update of every search index for a single task.
+ * Loading emits one per task, so the event is disabled unless a recording asks for it
+ * with {@code keeka.IndexUpdate#enabled=true}.
+ */
+@Name("keeka.IndexUpdate")
+@Label("Index Update")
+@Category("Keeka")
+@Description("Adding a task to or removing it from the search indexes")
+@Enabled(false)
+@StackTrace(false)
+public class IndexUpdateEvent extends Event {
+    @Label("Operation")
+    @Description("add or remove")
+    private String operation;
+
+    @Label("Task ID")
+    private int taskId;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+}
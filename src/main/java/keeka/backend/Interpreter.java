@@ -1,14 +1,26 @@
 package keeka.backend;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * Main interpreter that coordinates command processing and application flow.
  * Acts as the central controller that routes user commands to appropriate
  * handlers and manages the overall application lifecycle.
+ *
+ * <p>Each input is tokenized once into a reused {@link CommandLine}, and its command word
+ * is looked up in a table of registered commands built when the interpreter is created.
  */
 public class Interpreter {
+    private static final String UNKNOWN_METRIC_NAME = "command.unknown";
+
     private final CommandHandler commandHandler;
     private final TaskLoader taskLoader;
     private final Ui ui;
+    private final Metrics metrics;
+    private final Map<String, Command> commands;
+    private final CommandLine commandLine;
 
     /**
      * Constructs an Interpreter with required components for command processing.
@@ -18,9 +30,50 @@ public class Interpreter {
      * @param ui The user interface handler for displaying messages and responses.
      */
     public Interpreter(CommandHandler commandHandler, TaskLoader taskLoader, Ui ui) {
+        this(commandHandler, taskLoader, ui, new Metrics());
+    }
+
+    /**
+     * Constructs an Interpreter that records how long each command takes.
+     *
+     * @param commandHandler The handler responsible for processing user commands.
+     * @param taskLoader The loader responsible for restoring tasks from storage.
+     * @param ui The user interface handler for displaying messages and responses.
+     * @param metrics The registry command timings are recorded in, under {@code command.<word>}.
+     */
+    public Interpreter(CommandHandler commandHandler, TaskLoader taskLoader, Ui ui, Metrics metrics) {
         this.commandHandler = commandHandler;
         this.taskLoader = taskLoader;
         this.ui = ui;
+        this.metrics = metrics;
+        this.commands = new HashMap<>();
+        this.commandLine = new CommandLine();
+        registerCommands();
+    }
+
+    /**
+     * Fills the dispatch table with every command the interpreter understands.
+     */
+    private void registerCommands() {
+        register("todo", false, line -> commandHandler.handleTodoCommand(line.getArguments()));
+        register("deadline", false, commandHandler::handleDeadlineCommand);
+        register("event", false, commandHandler::handleEventCommand);
+        register("mark", false, commandHandler::handleMarkCommand);
+        register("unmark", false, commandHandler::handleUnmarkCommand);
+        register("delete", false, commandHandler::handleDeleteCommand);
+        register("update", false, commandHandler::handleUpdateCommand);
+        register("find", true, commandHandler::handleFindCommand);
+        register("list", true, line -> commandHandler.handleListCommand(line.getArguments()));
+        register("due", true, commandHandler::handleDueCommand);
+        register("between", true, commandHandler::handleBetweenCommand);
+        register("agenda", true, line -> commandHandler.handleAgendaCommand(line.getArguments()));
+        register("free", true, line -> commandHandler.handleFreeCommand(line.getArguments()));
+        register("stats", true, line -> new CommandResult.MetricsReport(metrics));
+        register("bye", false, line -> new CommandResult.Goodbye());
+    }
+
+    private void register(String name, boolean isReadOnly, Function<CommandLine, CommandResult> handler) {
+        commands.put(name, new Command(handler, "command." + name, isReadOnly));
     }
 
     /**
@@ -30,11 +83,26 @@ public class Interpreter {
     public void start() {
         ui.showGreeting();
         taskLoader.loadTasks();
+        ui.flush();
+    }
+
+    /**
+     * Checks whether a command only reads the task list, so that it can be cancelled
+     * while running without leaving the task list or the save file half updated.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return True if the command does not change any task, false otherwise.
+     */
+    public boolean isCancellable(String input) {
+        Command command = commands.get(new CommandLine().tokenize(input).getCommand());
+        return command != null && command.isReadOnly;
     }
 
     /**
      * Processes a user command by parsing the input and routing it to the
-     * appropriate command handler based on the command type.
+     * appropriate command handler based on the command type, then shows and flushes the result.
+     * The time taken is recorded under the command word, or under {@code command.unknown},
+     * and as a {@link CommandEvent} when Flight Recorder is running.
      *
      * @param input The complete user input string containing command and arguments.
      */
@@ -42,22 +110,62 @@ public class Interpreter {
 
         assert input != null : "Input should not be null";
 
-        String[] parts = input.trim().split(" ", 2);
-        String command = parts[0].toLowerCase();
-        String args = parts.length > 1 ? parts[1] : "";
-
-        switch (command) {
-        case "todo" -> commandHandler.handleTodoCommand(args);
-        case "deadline" -> commandHandler.handleDeadlineCommand(args);
-        case "event" -> commandHandler.handleEventCommand(args);
-        case "mark" -> commandHandler.handleMarkCommand(input);
-        case "unmark" -> commandHandler.handleUnmarkCommand(input);
-        case "delete" -> commandHandler.handleDeleteCommand(input);
-        case "find" -> commandHandler.handleFindCommand(input);
-        case "list" -> commandHandler.handleListCommand();
-        case "update" -> commandHandler.handleUpdateCommand(args);
-        case "bye" -> ui.showGoodbye();
-        default -> ui.showError("Unknown command: " + command);
+        run(input, true);
+    }
+
+    /**
+     * Processes a user command like {@link #processCommand(String)}, but returns its result
+     * instead of showing it, so that no text is formatted for it.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return The result of the command.
+     */
+    public CommandResult execute(String input) {
+
+        assert input != null : "Input should not be null";
+
+        return run(input, false);
+    }
+
+    /**
+     * Routes a command to its handler, shows the result if asked to, and records the time taken.
+     */
+    private CommandResult run(String input, boolean isShown) {
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CommandLine line = commandLine.tokenize(input);
+        String word = line.getCommand();
+        Command command = commands.get(word);
+        CommandResult result = command != null
+                ? command.handler.apply(line)
+                : new CommandResult.Error(CommandResult.Error.Code.UNKNOWN_COMMAND, "Unknown command: " + word);
+        if (isShown) {
+            ui.show(result);
+            ui.flush();
+        }
+        metrics.recordSince(command != null ? command.metricName : UNKNOWN_METRIC_NAME, start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCommand(word);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * A registered command: its handler, the name its timings are recorded under,
+     * and whether it only reads the task list.
+     */
+    private static class Command {
+        private final Function<CommandLine, CommandResult> handler;
+        private final String metricName;
+        private final boolean isReadOnly;
+
+        private Command(Function<CommandLine, CommandResult> handler, String metricName, boolean isReadOnly) {
+            this.handler = handler;
+            this.metricName = metricName;
+            this.isReadOnly = isReadOnly;
         }
     }
 }
@@ -0,0 +1,203 @@
+package keeka.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Augmented search tree over half-open time intervals, each belonging to a task ID.
+ * Intervals are ordered by start time, and every node also records the latest end time in
+ * its subtree, so a query can skip any subtree that ends before the queried range begins.
+ * Finding the k intervals overlapping a range therefore takes O(log n + k).
+ *
+ * <p>The tree is kept balanced as a treap: every node gets a random priority and rotations
+ * keep parents above their children in priority, which gives an expected depth of O(log n)
+ * whatever order events are added in.
+ */
+public class IntervalTree {
+    private final Random priorities;
+    private Node root;
+    private int size;
+
+    /**
+     * Constructs an empty IntervalTree.
+     */
+    public IntervalTree() {
+        this.priorities = new Random();
+    }
+
+    /**
+     * Adds an interval to the tree.
+     *
+     * @param start The inclusive start of the interval, in epoch seconds.
+     * @param end The exclusive end of the interval, in epoch seconds, after the start.
+     * @param id The ID of the task the interval belongs to.
+     */
+    public void add(long start, long end, int id) {
+
+        assert end > start : "Interval must end after it starts";
+
+        root = insert(root, new Node(start, end, id, priorities.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes an interval from the tree.
+     *
+     * @param start The start the interval was added with.
+     * @param id The ID of the task the interval belongs to.
+     */
+    public void remove(long start, int id) {
+        root = delete(root, start, id);
+    }
+
+    /**
+     * Finds the intervals overlapping the given range.
+     *
+     * @param from The inclusive start of the range, in epoch seconds.
+     * @param to The exclusive end of the range, in epoch seconds.
+     * @return The overlapping intervals as {@code {start, end, id}} triples, ordered by start.
+     */
+    public List<long[]> overlapping(long from, long to) {
+        List<long[]> matches = new ArrayList<>();
+        collect(root, from, to, matches);
+        return matches;
+    }
+
+    /**
+     * Returns the number of intervals in the tree.
+     *
+     * @return The number of intervals.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Walks the tree in start order, pruning subtrees that end before the range
+     * and right subtrees that start after it.
+     */
+    private static void collect(Node node, long from, long to, List<long[]> matches) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, matches);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            matches.add(new long[] {node.start, node.end, node.id});
+        }
+        collect(node.right, from, to, matches);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two subtrees whose keys are all ordered left before right.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Integer.compare(id, node.id);
+    }
+
+    /**
+     * A single interval together with the latest end time found in its subtree.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, int id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package keeka.backend;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
+
+import keeka.tasks.Task;
 
 /**
  * Main application class for the Keeka task manager.
@@ -8,6 +14,32 @@ import java.util.Scanner;
  * providing both CLI and programmatic interfaces for task management.
  */
 public class Keeka {
+    /**
+     * Location of the save file, overridable with the {@code keeka.file} system property.
+     * A path ending in {@value MappedStorage#FILE_EXTENSION} selects the memory-mapped binary backend.
+     */
+    public static final String SAVE_FILE_PATH =
+            System.getProperty("keeka.file", "src/main/java/keeka/backend/List.txt");
+
+    /**
+     * Whether substring searches use a trigram index, enabled with the {@code keeka.trigramIndex}
+     * system property. The index speeds up searches on large lists but costs extra memory.
+     */
+    public static final boolean IS_TRIGRAM_INDEXED = Boolean.getBoolean("keeka.trigramIndex");
+
+    /**
+     * Number of tasks the {@code list} command shows per page, set with the {@code keeka.pageSize}
+     * system property.
+     */
+    public static final int PAGE_SIZE =
+            Math.max(1, Integer.getInteger("keeka.pageSize", CommandHandler.DEFAULT_PAGE_SIZE));
+
+    /**
+     * File the command, storage and loading timings are written to on exit, set with the
+     * {@code keeka.metricsFile} system property. Timings are not written anywhere if it is unset.
+     */
+    public static final String METRICS_FILE_PATH = System.getProperty("keeka.metricsFile");
+
     private TaskList taskList;
     private Storage storage;
     private Parser parser;
@@ -15,6 +47,7 @@ public class Keeka {
     private CommandHandler commandHandler;
     private TaskLoader taskLoader;
     private Interpreter interpreter;
+    private Metrics metrics;
 
     /**
      * Constructs a new Keeka application instance and initializes all required components.
@@ -28,13 +61,108 @@ public class Keeka {
      * Creates the dependency injection structure for proper component interaction.
      */
     private void initializeComponents() {
-        taskList = new TaskList();
-        storage = new Storage("src/main/java/keeka/backend/List.txt");
+        metrics = new Metrics();
+        taskList = new TaskList(IS_TRIGRAM_INDEXED);
+        storage = new MeteredStorage(Storage.open(SAVE_FILE_PATH), metrics);
         parser = new Parser();
         ui = new Ui();
-        commandHandler = new CommandHandler(taskList, storage, parser, ui);
-        taskLoader = new TaskLoader(taskList, storage, parser);
-        interpreter = new Interpreter(commandHandler, taskLoader, ui);
+        commandHandler = new CommandHandler(taskList, storage, parser, PAGE_SIZE);
+        taskLoader = new TaskLoader(taskList, storage, parser, TaskLoader.DEFAULT_CHUNK_SIZE, metrics);
+        interpreter = new Interpreter(commandHandler, taskLoader, ui, metrics);
+    }
+
+    /**
+     * Shows the greeting message without loading any tasks, so that a window can
+     * display it before the saved tasks have been read.
+     *
+     * @return The greeting message.
+     */
+    public String greet() {
+        ui.showGreeting();
+        ui.flush();
+        return ui.getLatestMessage();
+    }
+
+    /**
+     * Loads the saved tasks into the task list. Meant to run on a background thread
+     * before any command is processed.
+     *
+     * @return A message saying how many tasks were loaded and which lines were skipped.
+     */
+    public String loadTasks() {
+        ui.showLoadReport(taskLoader.loadTasks());
+        ui.flush();
+        return ui.getLatestMessage();
+    }
+
+    /**
+     * Processes a single command and returns Keeka's response to it.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return The response message for the command.
+     */
+    public String getResponse(String input) {
+        interpreter.processCommand(input);
+        return ui.getLatestMessage();
+    }
+
+    /**
+     * Processes a single command and returns its result as data, without formatting any text.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return The result of the command.
+     */
+    public CommandResult execute(String input) {
+        return interpreter.execute(input);
+    }
+
+    /**
+     * Searches the tasks like the {@code find} command, handing the matches over in batches
+     * as they are found. Stops early if the calling thread is interrupted.
+     *
+     * @param keyword The search term to look for in task descriptions.
+     * @param limit The largest number of matches to hand over.
+     * @param batches Receives each batch of matching tasks, in list order.
+     * @return The number of matches handed over.
+     */
+    public int findTasks(String keyword, int limit, Consumer<List<Task>> batches) {
+        return taskList.findTasks(keyword, limit, batches);
+    }
+
+    /**
+     * Checks whether a command only reads the task list and can be cancelled while running.
+     *
+     * @param input The complete user input string containing command and arguments.
+     * @return True if the command does not change any task, false otherwise.
+     */
+    public boolean isCancellable(String input) {
+        return interpreter.isCancellable(input);
+    }
+
+    /**
+     * Registers a listener to be told about every change to the task list,
+     * including the tasks added while loading.
+     *
+     * @param listener The listener to register.
+     */
+    public void addTaskListListener(TaskListListener listener) {
+        taskList.addListener(listener);
+    }
+
+    /**
+     * Flushes pending writes and closes the storage backend, then writes the timings
+     * to the {@link #METRICS_FILE_PATH metrics file} if one is set.
+     */
+    public void close() {
+        storage.close();
+        if (METRICS_FILE_PATH == null) {
+            return;
+        }
+        try {
+            metrics.writeReport(Paths.get(METRICS_FILE_PATH));
+        } catch (IOException e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
     }
 
     /**
@@ -52,6 +180,7 @@ public class Keeka {
         }
 
         interpreter.processCommand("bye");
+        close();
         scanner.close();
     }
 
@@ -0,0 +1,92 @@
+package keeka.backend;
+
+/**
+ * Histogram of durations with a fixed set of buckets, so recording is a few arithmetic
+ * operations on a preallocated array and never allocates. Durations below 8 ns get a bucket
+ * each; above that, every power of two is split into 8 equal buckets, which bounds the
+ * error of a reported percentile to one eighth of its value. The count, total and
+ * maximum are kept exactly.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are counted as zero.
+     */
+    public synchronized void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[bucketOf(value)]++;
+        count++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Estimates a percentile as the upper end of the bucket it falls into,
+     * never more than the largest recorded duration.
+     *
+     * @param percentile The percentile between 0 and 100.
+     * @return The estimated duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public synchronized long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * count), 1);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = bucket % SUB_BUCKETS;
+        long upper = (SUB_BUCKETS + subBucket + 1) << shift;
+        return upper <= 0 ? Long.MAX_VALUE : upper - 1;
+    }
+}
@@ -0,0 +1,34 @@
+package keeka.backend;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one phase of loading the saved tasks at startup.
+ */
+@Name("keeka.LoadPhase")
+@Label("Load Phase")
+@Category("Keeka")
+@Description("One phase of loading the saved tasks")
+@StackTrace(false)
+public class LoadPhaseEvent extends Event {
+    @Label("Phase")
+    @Description("decodedTasks, saveFile or mutationLog")
+    private String phase;
+
+    @Label("Records")
+    @Description("The number of tasks or mutation records the phase read")
+    private int records;
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public void setRecords(int records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,149 @@
+package keeka.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a task loading run, listing how many tasks were restored,
+ * which saved lines or mutation records could not be decoded and, if the task list
+ * has a trigram index, how much memory the index takes.
+ */
+public class LoadReport {
+    private static final int MAX_LISTED_FAILURES = 5;
+
+    private final List<Failure> failures;
+    private int loadedCount;
+    private String indexMemory;
+
+    /**
+     * Constructs an empty LoadReport.
+     */
+    public LoadReport() {
+        this.failures = new ArrayList<>();
+    }
+
+    /**
+     * Adds to the number of tasks restored into the task list.
+     *
+     * @param count The number of tasks that were restored.
+     */
+    public void addLoaded(int count) {
+        loadedCount += count;
+    }
+
+    /**
+     * Records a line that could not be decoded.
+     *
+     * @param failure The failed line and the reason it was skipped.
+     */
+    public void addFailure(Failure failure) {
+        failures.add(failure);
+    }
+
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the description of the trigram index size, such as its trigram count and memory.
+     *
+     * @return The description, or null if the task list has no trigram index.
+     */
+    public String getIndexMemory() {
+        return indexMemory;
+    }
+
+    public void setIndexMemory(String indexMemory) {
+        this.indexMemory = indexMemory;
+    }
+
+    /**
+     * Checks whether any line was skipped during loading.
+     *
+     * @return True if at least one line failed to decode, false otherwise.
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * Describes the skipped lines in a short message, listing only the first few of them.
+     *
+     * @return A summary of the failures, or an empty string if there were none.
+     */
+    public String summarizeFailures() {
+        if (failures.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder summary = new StringBuilder("Skipped " + failures.size() + " unreadable line(s):");
+        for (int i = 0; i < Math.min(failures.size(), MAX_LISTED_FAILURES); i++) {
+            summary.append("\n  ").append(failures.get(i));
+        }
+        if (failures.size() > MAX_LISTED_FAILURES) {
+            summary.append("\n  ...");
+        }
+        return summary.toString();
+    }
+
+    /**
+     * A single line that was skipped while loading, with where it came from and why it failed.
+     */
+    public static class Failure {
+        private final String source;
+        private final int lineNumber;
+        private final String content;
+        private final String reason;
+
+        /**
+         * Constructs a Failure for a line that could not be decoded.
+         *
+         * @param source The file the line came from, such as the save file or the mutation log.
+         * @param lineNumber The one-based line number within the source.
+         * @param content The text of the failed line.
+         * @param reason The reason the line could not be decoded.
+         */
+        public Failure(String source, int lineNumber, String content, String reason) {
+            this.source = source;
+            this.lineNumber = lineNumber;
+            this.content = content;
+            this.reason = reason;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Returns a copy of this failure with its line number shifted by the given offset.
+         * Used when a chunk decoded in isolation is placed after the lines before it.
+         *
+         * @param offset The number of lines preceding the chunk the failure came from.
+         * @return A failure with the adjusted line number.
+         */
+        public Failure shiftedBy(int offset) {
+            return new Failure(source, lineNumber + offset, content, reason);
+        }
+
+        @Override
+        public String toString() {
+            return source + " line " + lineNumber + ": " + content + " (" + reason + ")";
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+/**
+ * Storage backend that keeps tasks in a memory-mapped binary file.
+ * Each task is a record with a fixed-size header followed by its length-prefixed UTF-8 description.
+ * Dates are stored as epoch days and date-times as epoch seconds, so loading never goes
+ * through the text save format. Date-times are kept to the whole second: a fraction of a second,
+ * such as the {@code .5} of {@code 2025-03-15T09:00:00.5}, is dropped. Marking a task only
+ * flips one byte of its header, and a replacement is written in place when the new description
+ * fits in the reserved space.
+ *
+ * <p>Records are keyed by the stable ID of their task, which also orders them in the list, so a
+ * replacement which outgrows its slot can be moved to the end of the file while keeping its
+ * position. Deleted records stay behind as tombstones until {@link #updateAllTasks(List)}
+ * rewrites the file. A rewrite builds the new file next to the old one, forces it to disk and
+ * then atomically moves it over the old file, so a crash leaves either the old or the new
+ * contents, never a mix of both.
+ *
+ * <p>Every append, in-place update and rewrite is emitted as a {@link StorageWriteEvent} when
+ * Flight Recorder is running, with the number of record bytes it wrote.
+ */
+public class MappedStorage implements Storage {
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x4B45454B;
+    private static final int VERSION = 2;
+    private static final int VERSION_POSITION = 4;
+    private static final int WRITE_OFFSET_POSITION = 8;
+    private static final int NEXT_ID_POSITION = 16;
+    private static final int FILE_HEADER_SIZE = 24;
+
+    private static final int STATE_OFFSET = 0;
+    private static final int TYPE_OFFSET = 1;
+    private static final int DONE_OFFSET = 2;
+    private static final int DATE_KIND_OFFSET = 3;
+    private static final int ID_OFFSET = 4;
+    private static final int FIRST_DATE_OFFSET = 12;
+    private static final int SECOND_DATE_OFFSET = 20;
+    private static final int CAPACITY_OFFSET = 28;
+    private static final int LENGTH_OFFSET = 32;
+    private static final int RECORD_HEADER_SIZE = 36;
+
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+    private static final byte NO_DATE = 0;
+    private static final byte LOCAL_DATE = 1;
+    private static final byte LOCAL_DATE_TIME = 2;
+
+    private static final int DESCRIPTION_ALIGNMENT = 16;
+    private static final int INITIAL_MAPPING_SIZE = 64 * 1024;
+    private static final String REWRITE_SUFFIX = ".rewrite";
+
+    private final String filePath;
+    private FileChannel channel;
+    private final Map<Integer, Integer> recordOffsets;
+    private MappedByteBuffer buffer;
+    private int writeOffset;
+    private long nextId;
+
+    /**
+     * Constructs a MappedStorage for the given file, creating and initializing it if needed.
+     * Scans the record headers once to find the live tasks, their IDs and their order.
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     * @throws UncheckedIOException If the file cannot be opened or is not a Keeka binary file.
+     */
+    public MappedStorage(String filePath) {
+        Path path = Paths.get(filePath);
+        this.filePath = filePath;
+        this.recordOffsets = new LinkedHashMap<>();
+        try {
+            if (path.getParent() != null) {
+                path.getParent().toFile().mkdirs();
+            }
+            Files.deleteIfExists(Paths.get(filePath + REWRITE_SUFFIX));
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            boolean isNewFile = channel.size() == 0;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(channel.size(), INITIAL_MAPPING_SIZE));
+            if (isNewFile) {
+                initializeHeader();
+            }
+            readHeader();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open storage file: " + filePath, e);
+        }
+        indexRecords();
+    }
+
+    @Override
+    public void saveTask(Task task, int taskId) {
+
+        assert task != null : "Task to save must not be null";
+        assert taskId >= nextId : "Task IDs must increase along the list";
+
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        int offset = appendRecord(task, taskId);
+        recordOffsets.put(taskId, offset);
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, "append", writeOffset - offset, 1);
+        }
+    }
+
+    @Override
+    public void updateAllTasks(List<Task> tasks) {
+
+        assert tasks != null : "Task list must not be null";
+
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        Path path = Paths.get(filePath);
+        Path rewritePath = Paths.get(filePath + REWRITE_SUFFIX);
+        FileChannel oldChannel = channel;
+        long keptNextId = nextId;
+        try {
+            channel = FileChannel.open(rewritePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_MAPPING_SIZE);
+            initializeHeader();
+            nextId = keptNextId;
+            recordOffsets.clear();
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                int id = task.getId() > 0 ? task.getId() : i + 1;
+                recordOffsets.put(id, placeRecord(task, id));
+            }
+            writeHeader();
+            buffer.force();
+            channel.close();
+            oldChannel.close();
+
+            Files.move(rewritePath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), INITIAL_MAPPING_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rewrite storage file: " + filePath, e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, "rewrite", writeOffset - FILE_HEADER_SIZE, tasks.size());
+        }
+    }
+
+    @Override
+    public void recordMutation(Mutation mutation, TaskList taskList) {
+
+        assert mutation != null : "Mutation must not be null";
+
+        int id = mutation.getTaskId();
+        if (mutation.getType() == Mutation.Type.ADD) {
+            saveTask(mutation.getTask(), id);
+            return;
+        }
+
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        int bytes = switch (mutation.getType()) {
+        case MARK -> {
+            buffer.put(offsetOf(id) + DONE_OFFSET, (byte) 1);
+            yield 1;
+        }
+        case UNMARK -> {
+            buffer.put(offsetOf(id) + DONE_OFFSET, (byte) 0);
+            yield 1;
+        }
+        case DELETE -> {
+            buffer.put(offsetOf(id) + STATE_OFFSET, DELETED);
+            recordOffsets.remove(id);
+            yield 1;
+        }
+        case REPLACE -> replaceRecord(id, mutation.getTask());
+        default -> throw new IllegalArgumentException("Unknown mutation: " + mutation.getType());
+        };
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, "update", bytes, 1);
+        }
+    }
+
+    /**
+     * Returns an empty list, as this backend does not store text save lines.
+     *
+     * @return An empty list.
+     */
+    @Override
+    public List<String> loadSaveContents() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Returns an empty buffer, as this backend does not store text save lines.
+     *
+     * @return An empty buffer.
+     */
+    @Override
+    public ByteBuffer loadSaveBuffer() {
+        return ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Returns an empty list, as every change is applied to the mapped file directly.
+     *
+     * @return An empty list.
+     */
+    @Override
+    public List<String> loadMutationRecords() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Decodes every live record straight from the mapping in list order.
+     *
+     * @return A list of restored tasks.
+     */
+    @Override
+    public List<Task> loadDecodedTasks() {
+        List<Task> tasks = new ArrayList<>(recordOffsets.size());
+        for (Map.Entry<Integer, Integer> record : recordOffsets.entrySet()) {
+            Task task = decodeRecord(record.getValue());
+            task.setId(record.getKey());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the next free ID kept in the file header, which every append raises and
+     * neither deletions nor rewrites lower.
+     *
+     * @return The next free task ID, at least 1.
+     */
+    @Override
+    public int loadNextId() {
+        return (int) Math.max(nextId, 1);
+    }
+
+    /**
+     * Returns the default text codec. Records in the mapped file are binary, so it is
+     * only used for text lines handed to this backend from elsewhere.
+     *
+     * @return The default codec.
+     */
+    @Override
+    public TaskCodec getCodec() {
+        return TaskCodecs.getDefault();
+    }
+
+    /**
+     * Forces the mapped pages to disk and closes the underlying file channel.
+     */
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the record of the task with the given ID.
+     */
+    private int offsetOf(int id) {
+        Integer offset = recordOffsets.get(id);
+        if (offset == null) {
+            throw new IllegalArgumentException("Unknown task #" + id);
+        }
+        return offset;
+    }
+
+    /**
+     * Overwrites the record of the task with the given ID, moving it to the end of the file
+     * if the new description does not fit in the space reserved for the old one.
+     *
+     * @param id The stable ID of the task.
+     * @param task The updated task.
+     * @return The number of bytes of record written.
+     */
+    private int replaceRecord(int id, Task task) {
+        int offset = offsetOf(id);
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int capacity = buffer.getInt(offset + CAPACITY_OFFSET);
+
+        if (description.length <= capacity) {
+            writeRecord(offset, task, id, capacity, description);
+            return RECORD_HEADER_SIZE + description.length;
+        }
+
+        buffer.put(offset + STATE_OFFSET, DELETED);
+        int movedOffset = appendRecord(task, id);
+        recordOffsets.put(id, movedOffset);
+        return writeOffset - movedOffset;
+    }
+
+    /**
+     * Fills in a storage write event that Flight Recorder is recording and commits it.
+     */
+    private void commitWrite(StorageWriteEvent event, String operation, long bytes, int records) {
+        event.setOperation(operation);
+        event.setFile(filePath);
+        event.setBytes(bytes);
+        event.setRecords(records);
+        event.commit();
+    }
+
+    /**
+     * Writes a new record at the end of the used region, advances the write offset
+     * and records it in the file header.
+     *
+     * @param task The task to be written.
+     * @param id The stable ID of the task, which also determines its position in the list.
+     * @return The file offset of the new record.
+     */
+    private int appendRecord(Task task, int id) {
+        int offset = placeRecord(task, id);
+        writeHeader();
+        return offset;
+    }
+
+    /**
+     * Writes a new record at the end of the used region and advances the write offset,
+     * leaving the file header as it is.
+     *
+     * @param task The task to be written.
+     * @param id The stable ID of the task, which also determines its position in the list.
+     * @return The file offset of the new record.
+     */
+    private int placeRecord(Task task, int id) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int capacity = alignCapacity(description.length);
+        int offset = writeOffset;
+
+        ensureMapped(offset + RECORD_HEADER_SIZE + capacity);
+        writeRecord(offset, task, id, capacity, description);
+        writeOffset = offset + RECORD_HEADER_SIZE + capacity;
+        nextId = Math.max(nextId, id + 1L);
+        return offset;
+    }
+
+    /**
+     * Writes a complete record at the given offset. The state byte is written last so that
+     * a half-written record is never seen as live.
+     */
+    private void writeRecord(int offset, Task task, int id, int capacity, byte[] description) {
+        buffer.put(offset + TYPE_OFFSET, (byte) task.getTaskCode().charAt(0));
+        buffer.put(offset + DONE_OFFSET, (byte) (task.isDone() ? 1 : 0));
+        buffer.putLong(offset + ID_OFFSET, id);
+        buffer.putInt(offset + CAPACITY_OFFSET, capacity);
+        buffer.putInt(offset + LENGTH_OFFSET, description.length);
+        buffer.put(offset + RECORD_HEADER_SIZE, description);
+        writeDates(offset, task);
+        buffer.put(offset + STATE_OFFSET, LIVE);
+    }
+
+    /**
+     * Writes the date kind and epoch-encoded dates of a task into its record header.
+     */
+    private void writeDates(int offset, Task task) {
+        byte dateKind = NO_DATE;
+        long first = 0;
+        long second = 0;
+
+        if (task instanceof Deadline deadline) {
+            if (deadline.getDateTime() != null) {
+                dateKind = LOCAL_DATE_TIME;
+                first = deadline.getDateTime().toEpochSecond(ZoneOffset.UTC);
+            } else {
+                dateKind = LOCAL_DATE;
+                first = deadline.getDate().toEpochDay();
+            }
+        } else if (task instanceof Event event) {
+            if (event.getStartDateTime() != null) {
+                dateKind = LOCAL_DATE_TIME;
+                first = event.getStartDateTime().toEpochSecond(ZoneOffset.UTC);
+                second = event.getEndDateTime().toEpochSecond(ZoneOffset.UTC);
+            } else {
+                dateKind = LOCAL_DATE;
+                first = event.getStartDate().toEpochDay();
+                second = event.getEndDate().toEpochDay();
+            }
+        }
+
+        buffer.put(offset + DATE_KIND_OFFSET, dateKind);
+        buffer.putLong(offset + FIRST_DATE_OFFSET, first);
+        buffer.putLong(offset + SECOND_DATE_OFFSET, second);
+    }
+
+    /**
+     * Rebuilds a task from the record at the given offset.
+     *
+     * @param offset The file offset of the record.
+     * @return The decoded task.
+     */
+    private Task decodeRecord(int offset) {
+        char taskCode = (char) buffer.get(offset + TYPE_OFFSET);
+        boolean isDone = buffer.get(offset + DONE_OFFSET) == 1;
+        boolean hasTime = buffer.get(offset + DATE_KIND_OFFSET) == LOCAL_DATE_TIME;
+        long first = buffer.getLong(offset + FIRST_DATE_OFFSET);
+        long second = buffer.getLong(offset + SECOND_DATE_OFFSET);
+
+        byte[] bytes = new byte[buffer.getInt(offset + LENGTH_OFFSET)];
+        buffer.get(offset + RECORD_HEADER_SIZE, bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        return switch (taskCode) {
+        case 'T' -> TaskFactory.createToDo(description, isDone);
+        case 'D' -> hasTime
+                ? TaskFactory.createDeadline(description, isDone, toDateTime(first))
+                : TaskFactory.createDeadline(description, isDone, LocalDate.ofEpochDay(first));
+        case 'E' -> hasTime
+                ? TaskFactory.createEvent(description, isDone, toDateTime(first), toDateTime(second))
+                : TaskFactory.createEvent(description, isDone, LocalDate.ofEpochDay(first),
+                        LocalDate.ofEpochDay(second));
+        default -> throw new IllegalStateException("Corrupted record at offset " + offset);
+        };
+    }
+
+    /**
+     * Walks the record headers to collect the offsets of live records, ordered by their ID.
+     */
+    private void indexRecords() {
+        List<long[]> liveRecords = new ArrayList<>();
+        int offset = FILE_HEADER_SIZE;
+        while (offset < writeOffset) {
+            if (buffer.get(offset + STATE_OFFSET) == LIVE) {
+                liveRecords.add(new long[] {buffer.getLong(offset + ID_OFFSET), offset});
+            }
+            offset += RECORD_HEADER_SIZE + buffer.getInt(offset + CAPACITY_OFFSET);
+        }
+
+        liveRecords.sort(Comparator.comparingLong(record -> record[0]));
+        for (long[] record : liveRecords) {
+            recordOffsets.put((int) record[0], (int) record[1]);
+        }
+    }
+
+    /**
+     * Remaps the file with a larger size if the mapping does not reach the required offset.
+     */
+    private void ensureMapped(int requiredSize) {
+        if (requiredSize <= buffer.capacity()) {
+            return;
+        }
+        try {
+            buffer.force();
+            long newSize = Math.max((long) buffer.capacity() * 2, requiredSize);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow storage file", e);
+        }
+    }
+
+    private void initializeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(VERSION_POSITION, VERSION);
+        writeOffset = FILE_HEADER_SIZE;
+        nextId = 0;
+        writeHeader();
+    }
+
+    private void readHeader() throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(VERSION_POSITION) != VERSION) {
+            throw new IOException("Not a Keeka binary storage file");
+        }
+        writeOffset = (int) buffer.getLong(WRITE_OFFSET_POSITION);
+        nextId = buffer.getLong(NEXT_ID_POSITION);
+    }
+
+    private void writeHeader() {
+        buffer.putLong(WRITE_OFFSET_POSITION, writeOffset);
+        buffer.putLong(NEXT_ID_POSITION, nextId);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static int alignCapacity(int length) {
+        return (length + DESCRIPTION_ALIGNMENT - 1) / DESCRIPTION_ALIGNMENT * DESCRIPTION_ALIGNMENT;
+    }
+}
@@ -0,0 +1,123 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import keeka.tasks.Task;
+
+/**
+ * Storage that times every call to another storage backend and records it in a
+ * {@link Metrics} registry under {@code storage.<method>}, so that writes and the reads
+ * done while loading show up separately from the commands that cause them.
+ */
+public class MeteredStorage implements Storage {
+    private final Storage storage;
+    private final Metrics metrics;
+
+    /**
+     * Constructs a MeteredStorage around the given backend.
+     *
+     * @param storage The backend that does the actual work.
+     * @param metrics The registry the timings are recorded in.
+     */
+    public MeteredStorage(Storage storage, Metrics metrics) {
+        this.storage = storage;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void saveTask(Task task, int taskId) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.saveTask(task, taskId);
+        } finally {
+            metrics.recordSince("storage.saveTask", start);
+        }
+    }
+
+    @Override
+    public void updateAllTasks(List<Task> tasks) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.updateAllTasks(tasks);
+        } finally {
+            metrics.recordSince("storage.updateAllTasks", start);
+        }
+    }
+
+    @Override
+    public void recordMutation(Mutation mutation, TaskList taskList) throws IOException {
+        long start = System.nanoTime();
+        try {
+            storage.recordMutation(mutation, taskList);
+        } finally {
+            metrics.recordSince("storage.recordMutation", start);
+        }
+    }
+
+    @Override
+    public List<String> loadSaveContents() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadSaveContents();
+        } finally {
+            metrics.recordSince("storage.loadSaveContents", start);
+        }
+    }
+
+    @Override
+    public ByteBuffer loadSaveBuffer() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadSaveBuffer();
+        } finally {
+            metrics.recordSince("storage.loadSaveBuffer", start);
+        }
+    }
+
+    @Override
+    public List<String> loadMutationRecords() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadMutationRecords();
+        } finally {
+            metrics.recordSince("storage.loadMutationRecords", start);
+        }
+    }
+
+    @Override
+    public List<Task> loadDecodedTasks() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadDecodedTasks();
+        } finally {
+            metrics.recordSince("storage.loadDecodedTasks", start);
+        }
+    }
+
+    @Override
+    public int loadNextId() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return storage.loadNextId();
+        } finally {
+            metrics.recordSince("storage.loadNextId", start);
+        }
+    }
+
+    @Override
+    public TaskCodec getCodec() {
+        return storage.getCodec();
+    }
+
+    @Override
+    public void close() {
+        long start = System.nanoTime();
+        try {
+            storage.close();
+        } finally {
+            metrics.recordSince("storage.close", start);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registry of named latency histograms, such as {@code command.find} or {@code storage.saveTask}.
+ * Histograms are created on first use and reported in name order, so related timings
+ * sharing a prefix are listed together.
+ */
+public class Metrics {
+    private final Map<String, LatencyHistogram> histograms;
+
+    /**
+     * Constructs an empty Metrics registry.
+     */
+    public Metrics() {
+        this.histograms = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Records how long an operation took.
+     *
+     * @param name The name of the operation.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(String name, long nanos) {
+        histograms.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the time elapsed since the given start.
+     *
+     * @param name The name of the operation.
+     * @param startNanos The value of {@link System#nanoTime()} when the operation started.
+     */
+    public void recordSince(String name, long startNanos) {
+        record(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Retrieves the histogram of an operation.
+     *
+     * @param name The name of the operation.
+     * @return The histogram, or null if the operation was never recorded.
+     */
+    public LatencyHistogram getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * Checks whether anything has been recorded.
+     *
+     * @return True if no operation was recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return histograms.isEmpty();
+    }
+
+    /**
+     * Describes every histogram in a table with its count, median, 99th percentile and maximum.
+     *
+     * @return The table, with durations in milliseconds.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(
+                String.format("%-28s %8s %10s %10s %10s", "operation", "count", "p50 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            report.append(String.format("%n%-28s %8d %10.3f %10.3f %10.3f", entry.getKey(), histogram.getCount(),
+                    toMillis(histogram.getPercentileNanos(50)), toMillis(histogram.getPercentileNanos(99)),
+                    toMillis(histogram.getMaxNanos())));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file, replacing it if it exists.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeReport(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        Files.writeString(path, report() + System.lineSeparator(), StandardCharsets.UTF_8);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
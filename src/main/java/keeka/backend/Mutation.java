@@ -0,0 +1,124 @@
+package keeka.backend;
+
+import keeka.tasks.Task;
+
+/**
+ * Represents a single change made to the task list, such as adding, marking or deleting a task.
+ * Mutations are appended to the mutation log as small records so that a change to one task
+ * does not require rewriting the whole save file. Tasks are identified by their stable ID,
+ * so a record stays valid no matter how the list is reordered by later deletions.
+ */
+public class Mutation {
+    /**
+     * The kinds of changes that can be recorded, each identified by a single character code.
+     */
+    public enum Type {
+        ADD('A'), MARK('M'), UNMARK('U'), DELETE('D'), REPLACE('R');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        /**
+         * Returns the single character code used for this type in the mutation log.
+         *
+         * @return The record code of this mutation type.
+         */
+        public char getCode() {
+            return code;
+        }
+    }
+
+    private final Type type;
+    private final int taskId;
+    private final Task task;
+
+    private Mutation(Type type, int taskId, Task task) {
+        assert taskId > 0 : "Task ID must be positive";
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    /**
+     * Creates a mutation recording that a task was added to the end of the list.
+     *
+     * @param task The task that was added, with its ID already assigned.
+     * @return A mutation describing the addition.
+     */
+    public static Mutation added(Task task) {
+        return new Mutation(Type.ADD, task.getId(), task);
+    }
+
+    /**
+     * Creates a mutation recording that a task was marked as done.
+     *
+     * @param taskId The ID of the marked task.
+     * @return A mutation describing the marking.
+     */
+    public static Mutation marked(int taskId) {
+        return new Mutation(Type.MARK, taskId, null);
+    }
+
+    /**
+     * Creates a mutation recording that a task was marked as not done.
+     *
+     * @param taskId The ID of the unmarked task.
+     * @return A mutation describing the unmarking.
+     */
+    public static Mutation unmarked(int taskId) {
+        return new Mutation(Type.UNMARK, taskId, null);
+    }
+
+    /**
+     * Creates a mutation recording that a task was deleted.
+     *
+     * @param taskId The ID of the deleted task.
+     * @return A mutation describing the deletion.
+     */
+    public static Mutation deleted(int taskId) {
+        return new Mutation(Type.DELETE, taskId, null);
+    }
+
+    /**
+     * Creates a mutation recording that a task was replaced with an updated version.
+     *
+     * @param task The updated task, carrying the ID of the task it replaced.
+     * @return A mutation describing the replacement.
+     */
+    public static Mutation replaced(Task task) {
+        return new Mutation(Type.REPLACE, task.getId(), task);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Formats this mutation as a single line for the mutation log.
+     * Additions and replacements carry the task in the same format as the save file,
+     * while status changes and deletions only carry the task number.
+     *
+     * @param codec The codec the save file is written in.
+     * @return The log record representing this mutation.
+     */
+    public String toRecord(TaskCodec codec) {
+        StringBuilder record = new StringBuilder().append(type.getCode()).append(' ');
+        if (task != null) {
+            codec.encode(task, taskId, record);
+        } else {
+            record.append(taskId);
+        }
+        return record.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package keeka.backend;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of mutation records kept next to the save file.
+ * New records go to the live log. During compaction the live log is rotated aside
+ * so that new records can keep flowing while the snapshot is being rewritten.
+ * Appends go through a {@link GroupCommitWriter} that is kept open between records.
+ */
+public class MutationLog {
+    private static final String LOG_SUFFIX = ".log";
+    private static final String ROTATED_SUFFIX = ".log.old";
+
+    private final Path livePath;
+    private final Path rotatedPath;
+    private final GroupCommitWriter.Durability durability;
+    private GroupCommitWriter writer;
+    private int recordCount;
+
+    /**
+     * Constructs a MutationLog for the given save file, counting any records
+     * left behind by a previous session.
+     *
+     * @param snapshotPath The path of the save file this log belongs to.
+     * @param durability The policy deciding when appended records are committed.
+     */
+    public MutationLog(String snapshotPath, GroupCommitWriter.Durability durability) {
+        this.livePath = Paths.get(snapshotPath + LOG_SUFFIX);
+        this.rotatedPath = Paths.get(snapshotPath + ROTATED_SUFFIX);
+        this.durability = durability;
+        this.recordCount = countRecords(rotatedPath) + countRecords(livePath);
+    }
+
+    /**
+     * Appends a single record to the end of the live log, emitting a {@link StorageWriteEvent}
+     * when Flight Recorder is running.
+     *
+     * @param record The mutation record to append.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    public void append(String record) throws IOException {
+        assert record.indexOf('\n') < 0 : "Mutation records must fit on a single line";
+
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        if (writer == null) {
+            writer = new GroupCommitWriter(livePath, durability);
+        }
+        writer.write(record);
+        recordCount++;
+        event.end();
+        if (event.shouldCommit()) {
+            event.setOperation("log");
+            event.setFile(livePath.toString());
+            event.setBytes(record.getBytes(StandardCharsets.UTF_8).length + 1L);
+            event.setRecords(1);
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the number of records not yet folded into the snapshot.
+     *
+     * @return The count of pending mutation records.
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Reads every pending record in the order it was written, rotated records first.
+     *
+     * @return A list of mutation records.
+     * @throws IOException If an error occurs during file reading operations.
+     */
+    public List<String> readRecords() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        List<String> records = new ArrayList<>();
+        if (Files.exists(rotatedPath)) {
+            records.addAll(Files.readAllLines(rotatedPath));
+        }
+        if (Files.exists(livePath)) {
+            records.addAll(Files.readAllLines(livePath));
+        }
+        return records;
+    }
+
+    /**
+     * Moves the live log aside so that a compaction can fold it into the snapshot.
+     * If records from an unfinished compaction are still rotated, the live records
+     * are appended to them so that nothing is lost.
+     *
+     * @throws IOException If an error occurs while moving the log.
+     */
+    public void rotate() throws IOException {
+        close();
+        if (Files.exists(livePath)) {
+            if (Files.exists(rotatedPath)) {
+                Files.write(rotatedPath, Files.readAllBytes(livePath), StandardOpenOption.APPEND);
+                Files.delete(livePath);
+            } else {
+                Files.move(livePath, rotatedPath);
+            }
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Deletes the rotated records once they are contained in a new snapshot.
+     * Removing the rotated log is the commit point of a compaction.
+     *
+     * @throws IOException If an error occurs while deleting the log.
+     */
+    public void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    /**
+     * Checks whether records from an unfinished compaction are still present.
+     *
+     * @return True if a rotated log exists, false otherwise.
+     */
+    public boolean hasRotated() {
+        return Files.exists(rotatedPath);
+    }
+
+    /**
+     * Commits any queued records and closes the live log until the next append.
+     *
+     * @throws IOException If the queued records could not be written.
+     */
+    public void close() throws IOException {
+        if (writer != null) {
+            GroupCommitWriter closing = writer;
+            writer = null;
+            closing.close();
+        }
+    }
+
+    private static int countRecords(Path path) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (var lines = Files.lines(path)) {
+            return (int) lines.count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package keeka.backend;
+
+/**
+ * Destination for the messages shown by {@link Ui}. A long message can be streamed in pieces
+ * between {@link #beginMessage()} and {@link #endMessage()}, so that it is never held as one
+ * string. Messages may be held back until {@link #flush()} is called at the end of each
+ * interaction, so that a short response reaches its destination in a single write.
+ */
+public interface OutputSink {
+    /**
+     * Sink that drops every message, for benchmarks and other callers that only read
+     * responses through {@link Ui#getLatestMessage()}.
+     */
+    OutputSink NONE = new OutputSink() {
+        @Override
+        public void beginMessage() {
+        }
+
+        @Override
+        public void append(CharSequence text) {
+        }
+
+        @Override
+        public void endMessage() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public boolean isDiscarding() {
+            return true;
+        }
+    };
+
+    /**
+     * Starts a new message.
+     */
+    void beginMessage();
+
+    /**
+     * Adds the next piece of the current message.
+     *
+     * @param text The text to add, which the sink must not keep a reference to.
+     */
+    void append(CharSequence text);
+
+    /**
+     * Ends the current message.
+     */
+    void endMessage();
+
+    /**
+     * Writes out everything still held back.
+     */
+    void flush();
+
+    /**
+     * Returns whether this sink drops every message, in which case {@link Ui} skips rendering
+     * results that nobody reads.
+     *
+     * @return True if messages written to this sink are never shown.
+     */
+    default boolean isDiscarding() {
+        return false;
+    }
+
+    /**
+     * Writes a complete message.
+     *
+     * @param message The message to show.
+     */
+    default void write(String message) {
+        beginMessage();
+        append(message);
+        endMessage();
+    }
+}
@@ -2,6 +2,7 @@ package keeka.backend;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 
 /**
@@ -22,14 +23,34 @@ public class Parser {
      * @return A ParsedSaveContent object containing extracted task information.
      */
     public ParsedSaveContent parseSaveContent(String saveContent) {
-        String[] indexTaskPair = saveContent.split("\\. ", 2);
-        char taskCode = indexTaskPair[1].charAt(TASK_CODE_INDEX);
-        char markedStatus = indexTaskPair[1].charAt(MARKED_STATUS_INDEX);
-        String taskContent = indexTaskPair[1].substring(SUBSTRING_START_INDEX);
+        int taskStart = saveContent.indexOf(". ") + 2;
+        if (taskStart < 2) {
+            throw new IllegalArgumentException("Missing task number: " + saveContent);
+        }
+        char taskCode = saveContent.charAt(taskStart + TASK_CODE_INDEX);
+        char markedStatus = saveContent.charAt(taskStart + MARKED_STATUS_INDEX);
+        String taskContent = saveContent.substring(taskStart + SUBSTRING_START_INDEX);
 
         return new ParsedSaveContent(taskCode, markedStatus == 'X', taskContent);
     }
 
+    /**
+     * Parses a mutation log record to extract the mutation type, task ID and,
+     * for additions and replacements, the saved task line it carries.
+     *
+     * @param record The complete mutation record from the log.
+     * @return A MutationRecord object containing extracted mutation information.
+     */
+    public MutationRecord parseMutationRecord(String record) {
+        char typeCode = record.charAt(0);
+        String body = record.substring(2);
+        int numberEnd = body.indexOf('.');
+        int taskId = Integer.parseInt(numberEnd < 0 ? body : body.substring(0, numberEnd));
+        String saveContent = numberEnd < 0 ? null : body;
+
+        return new MutationRecord(typeCode, taskId, saveContent);
+    }
+
     /**
      * Parses deadline command input to extract description and due date information.
      * Supports both LocalDate and LocalDateTime formats for flexible date entry.
@@ -37,11 +58,27 @@ public class Parser {
      * @param input The deadline command string containing description and date.
      * @return A DeadlineInput object containing parsed description and date information.
      * @throws DateTimeParseException If the date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the description or the {@code /by} date is missing.
      */
     public DeadlineInput parseDeadlineInput(String input) throws DateTimeParseException {
-        String[] parts = input.split(" /by ");
-        String description = parts[0];
-        String dateString = parts[1];
+        return parseDeadlineInput(new CommandLine().tokenizeArguments("deadline", input));
+    }
+
+    /**
+     * Parses a tokenized deadline command, reading the description before the flags
+     * and the due date from the {@code /by} flag.
+     *
+     * @param line The tokenized deadline command or its arguments.
+     * @return A DeadlineInput object containing parsed description and date information.
+     * @throws DateTimeParseException If the date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the description or the {@code /by} date is missing.
+     */
+    public DeadlineInput parseDeadlineInput(CommandLine line) throws DateTimeParseException {
+        String description = line.getTextBeforeFlags();
+        String dateString = line.getFlagValue("/by");
+        if (description.isEmpty() || dateString == null) {
+            throw new IllegalArgumentException("Expected <description> /by <date>");
+        }
 
         if (dateString.contains("T")) {
             return new DeadlineInput(description, LocalDateTime.parse(dateString));
@@ -57,13 +94,28 @@ public class Parser {
      * @param input The event command string containing description and time range.
      * @return An EventInput object containing parsed description and time information.
      * @throws DateTimeParseException If any date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the description or either date is missing.
      */
     public EventInput parseEventInput(String input) throws DateTimeParseException {
-        String[] parts = input.split(" /from ");
-        String description = parts[0];
-        String[] dateParts = parts[1].split(" /to ");
-        String startString = dateParts[0];
-        String endString = dateParts[1];
+        return parseEventInput(new CommandLine().tokenizeArguments("event", input));
+    }
+
+    /**
+     * Parses a tokenized event command, reading the description before the flags
+     * and the time range from the {@code /from} and {@code /to} flags.
+     *
+     * @param line The tokenized event command or its arguments.
+     * @return An EventInput object containing parsed description and time information.
+     * @throws DateTimeParseException If any date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the description or either date is missing.
+     */
+    public EventInput parseEventInput(CommandLine line) throws DateTimeParseException {
+        String description = line.getTextBeforeFlags();
+        String startString = line.getFlagValue("/from");
+        String endString = line.getFlagValue("/to");
+        if (description.isEmpty() || startString == null || endString == null) {
+            throw new IllegalArgumentException("Expected <description> /from <start> /to <end>");
+        }
 
         if (startString.contains("T") && endString.contains("T")) {
             return new EventInput(description, LocalDateTime.parse(startString), LocalDateTime.parse(endString));
@@ -73,18 +125,153 @@ public class Parser {
     }
 
     /**
-     * Parses update command input to extract task index, field type, and new value.
+     * Parses a date or date-time used as a bound in a date query.
+     * A date without a time stands for the start of that day.
+     *
+     * @param input The date in {@code yyyy-MM-dd} or {@code yyyy-MM-ddTHH:mm} format.
+     * @return The parsed date-time.
+     * @throws DateTimeParseException If the date format is invalid or unparseable.
+     */
+    public LocalDateTime parseDateBound(String input) throws DateTimeParseException {
+        String dateString = input.trim();
+        if (dateString.contains("T")) {
+            return LocalDateTime.parse(dateString);
+        }
+        return LocalDate.parse(dateString).atStartOfDay();
+    }
+
+    /**
+     * Parses a date range given as two dates or date-times separated by a space.
+     * Both ends are included, so a date without a time as the end covers that whole day.
+     *
+     * @param input The range string containing the start and end dates.
+     * @return A DateRangeInput object with an inclusive start and exclusive end.
+     * @throws DateTimeParseException If any date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the input does not contain exactly two dates.
+     */
+    public DateRangeInput parseDateRangeInput(String input) throws DateTimeParseException {
+        return parseDateRangeInput(new CommandLine().tokenizeArguments("between", input));
+    }
+
+    /**
+     * Parses a tokenized date range, reading the start and end dates from its two arguments.
+     *
+     * @param line The tokenized between command or its arguments.
+     * @return A DateRangeInput object with an inclusive start and exclusive end.
+     * @throws DateTimeParseException If any date format is invalid or unparseable.
+     * @throws IllegalArgumentException If the arguments are not exactly two dates.
+     */
+    public DateRangeInput parseDateRangeInput(CommandLine line) throws DateTimeParseException {
+        if (line.getArgumentCount() != 2) {
+            throw new IllegalArgumentException("Expected a start and an end date");
+        }
+
+        String end = line.getArgument(1);
+        LocalDateTime from = parseDateBound(line.getArgument(0));
+        LocalDateTime to = end.contains("T")
+                ? LocalDateTime.parse(end).plusSeconds(1)
+                : LocalDate.parse(end).plusDays(1).atStartOfDay();
+        return new DateRangeInput(from, to);
+    }
+
+    /**
+     * Parses a month given as {@code yyyy-MM} into the range covering the whole month.
+     *
+     * @param input The month string.
+     * @return A DateRangeInput object from the start of the month to the start of the next one.
+     * @throws DateTimeParseException If the month format is invalid or unparseable.
+     */
+    public DateRangeInput parseMonthInput(String input) throws DateTimeParseException {
+        YearMonth month = YearMonth.parse(input.trim());
+        return new DateRangeInput(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Parses a reference to a task, either its stable ID written as {@code #id}
+     * or its one-based position in the list.
+     *
+     * @param token The task reference entered by the user.
+     * @return A TaskReference object identifying the task.
+     * @throws NumberFormatException If the reference is not a number.
+     */
+    public TaskReference parseTaskReference(String token) {
+        String reference = token.trim();
+        if (reference.startsWith("#")) {
+            return TaskReference.ofId(Integer.parseInt(reference.substring(1)));
+        }
+        return TaskReference.ofIndex(Integer.parseInt(reference) - 1);
+    }
+
+    /**
+     * Parses the arguments of a list command: nothing for the first page, {@code page <n>}
+     * for the n-th page, or {@code <from>-<to>} for the tasks at those one-based positions,
+     * both included.
+     *
+     * @param input The list command arguments.
+     * @param pageSize The number of tasks on a page.
+     * @return A ListRangeInput object with a zero-based start and an exclusive end, which may
+     *         lie past the end of the list.
+     * @throws NumberFormatException If a page number or position is not a number.
+     * @throws IllegalArgumentException If the arguments match none of the forms.
+     */
+    public ListRangeInput parseListRange(String input, int pageSize) {
+        String query = input.trim();
+        if (query.isEmpty()) {
+            return new ListRangeInput(0, pageSize);
+        }
+
+        if (query.startsWith("page ")) {
+            int page = Integer.parseInt(query.substring("page ".length()).trim());
+            if (page < 1) {
+                throw new IllegalArgumentException("Pages are numbered from 1");
+            }
+            long fromIndex = (long) (page - 1) * pageSize;
+            return new ListRangeInput(toIndex(fromIndex), toIndex(fromIndex + pageSize));
+        }
+
+        int dash = query.indexOf('-');
+        if (dash < 0) {
+            throw new IllegalArgumentException("Expected page <n> or <from>-<to>");
+        }
+        int from = Integer.parseInt(query.substring(0, dash).trim());
+        int to = Integer.parseInt(query.substring(dash + 1).trim());
+        if (from < 1 || to < from) {
+            throw new IllegalArgumentException("Expected positions from 1 with the first not after the last");
+        }
+        return new ListRangeInput(from - 1, to);
+    }
+
+    private static int toIndex(long position) {
+        return (int) Math.min(position, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses update command input to extract task reference, field type, and new value.
      * Processes the three-part update command format for task modification.
      *
-     * @param input The update command string containing index, field, and value.
+     * @param input The update command string containing task reference, field, and value.
      * @return An UpdateInput object containing parsed update information.
+     * @throws IllegalArgumentException If the task reference, field or value is missing.
      */
     public UpdateInput parseUpdateInput(String input) {
-        String[] parts = input.split(" ", 3);
-        int taskIndex = Integer.parseInt(parts[0]) - 1;
-        String fieldType = parts[1];
-        String newValue = parts[2];
-        return new UpdateInput(taskIndex, fieldType, newValue);
+        return parseUpdateInput(new CommandLine().tokenizeArguments("update", input));
+    }
+
+    /**
+     * Parses a tokenized update command, reading the task reference and field type from its
+     * first two arguments and the new value from the rest.
+     *
+     * @param line The tokenized update command or its arguments.
+     * @return An UpdateInput object containing parsed update information.
+     * @throws IllegalArgumentException If the task reference, field or value is missing.
+     */
+    public UpdateInput parseUpdateInput(CommandLine line) {
+        if (line.getArgumentCount() < 3) {
+            throw new IllegalArgumentException("Expected <task> <field> <value>");
+        }
+
+        TaskReference taskReference = parseTaskReference(line.getArgument(0));
+        return new UpdateInput(taskReference, line.getArgument(1), line.getArgumentsFrom(2));
     }
 
     /**
@@ -131,6 +318,50 @@ public class Parser {
         public String getTaskContent() { return taskContent; }
     }
 
+    /**
+     * Data transfer object containing parsed mutation record information.
+     * Holds the mutation type code, the affected task ID and any saved task line.
+     */
+    public static class MutationRecord {
+        private final char typeCode;
+        private final int taskId;
+        private final String saveContent;
+
+        /**
+         * Constructs a MutationRecord with extracted mutation log information.
+         *
+         * @param typeCode The single character code identifying the mutation type.
+         * @param taskId The ID of the affected task.
+         * @param saveContent The saved task line carried by the record, or null if there is none.
+         */
+        public MutationRecord(char typeCode, int taskId, String saveContent) {
+            this.typeCode = typeCode;
+            this.taskId = taskId;
+            this.saveContent = saveContent;
+        }
+
+        /**
+         * Returns the mutation type code (A, M, U, D or R).
+         *
+         * @return The character representing the mutation type.
+         */
+        public char getTypeCode() { return typeCode; }
+
+        /**
+         * Returns the ID of the affected task.
+         *
+         * @return The task ID of the mutation.
+         */
+        public int getTaskId() { return taskId; }
+
+        /**
+         * Returns the saved task line carried by additions and replacements.
+         *
+         * @return The saved task line, or null for status changes and deletions.
+         */
+        public String getSaveContent() { return saveContent; }
+    }
+
     /**
      * Data transfer object containing parsed deadline input information.
      * Holds description and either LocalDate or LocalDateTime depending on input format.
@@ -263,34 +494,163 @@ public class Parser {
         public LocalDate getEndDate() { return endDate; }
     }
 
+    /**
+     * Data transfer object containing a parsed time range for date queries.
+     * Holds an inclusive start and an exclusive end.
+     */
+    public static class DateRangeInput {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        /**
+         * Constructs a DateRangeInput with its start and end.
+         *
+         * @param from The inclusive start of the range.
+         * @param to The exclusive end of the range.
+         */
+        public DateRangeInput(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Returns the inclusive start of the range.
+         *
+         * @return The LocalDateTime the range starts at.
+         */
+        public LocalDateTime getFrom() { return from; }
+
+        /**
+         * Returns the exclusive end of the range.
+         *
+         * @return The LocalDateTime the range ends before.
+         */
+        public LocalDateTime getTo() { return to; }
+    }
+
+    /**
+     * Data transfer object containing a parsed range of list positions.
+     * Holds an inclusive start and an exclusive end, both zero-based.
+     */
+    public static class ListRangeInput {
+        private final int fromIndex;
+        private final int toIndex;
+
+        /**
+         * Constructs a ListRangeInput with its start and end.
+         *
+         * @param fromIndex The zero-based position of the first task, inclusive.
+         * @param toIndex The zero-based position after the last task, exclusive.
+         */
+        public ListRangeInput(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        /**
+         * Returns the zero-based position of the first task in the range.
+         *
+         * @return The inclusive start of the range.
+         */
+        public int getFromIndex() { return fromIndex; }
+
+        /**
+         * Returns the zero-based position after the last task in the range.
+         *
+         * @return The exclusive end of the range.
+         */
+        public int getToIndex() { return toIndex; }
+    }
+
+    /**
+     * Data transfer object identifying a task either by its stable ID or by its position.
+     */
+    public static class TaskReference {
+        private final boolean isId;
+        private final int value;
+
+        private TaskReference(boolean isId, int value) {
+            this.isId = isId;
+            this.value = value;
+        }
+
+        /**
+         * Creates a reference to the task with the given stable ID.
+         *
+         * @param taskId The stable ID of the task.
+         * @return A TaskReference by ID.
+         */
+        public static TaskReference ofId(int taskId) {
+            return new TaskReference(true, taskId);
+        }
+
+        /**
+         * Creates a reference to the task at the given position.
+         *
+         * @param taskIndex The zero-based index of the task.
+         * @return A TaskReference by position.
+         */
+        public static TaskReference ofIndex(int taskIndex) {
+            return new TaskReference(false, taskIndex);
+        }
+
+        /**
+         * Returns whether the task is referenced by its stable ID.
+         *
+         * @return True for a {@code #id} reference, false for a position.
+         */
+        public boolean isId() { return isId; }
+
+        /**
+         * Returns the stable ID of the referenced task.
+         *
+         * @return The task ID, or -1 if the task is referenced by position.
+         */
+        public int getTaskId() { return isId ? value : -1; }
+
+        /**
+         * Returns the zero-based position of the referenced task.
+         *
+         * @return The task index, or -1 if the task is referenced by ID.
+         */
+        public int getTaskIndex() { return isId ? -1 : value; }
+    }
+
     /**
      * Data transfer object containing parsed update command information.
-     * Holds the task index, field type to update, and the new value.
+     * Holds the task reference, field type to update, and the new value.
      */
     public static class UpdateInput {
-        private final int taskIndex;
+        private final TaskReference taskReference;
         private final String fieldType;
         private final String newValue;
 
         /**
-         * Constructs an UpdateInput with task index, field type, and new value.
+         * Constructs an UpdateInput with task reference, field type, and new value.
          *
-         * @param taskIndex The zero-based index of the task to update.
+         * @param taskReference The ID or position of the task to update.
          * @param fieldType The type of field to update (e.g., "description", "date").
          * @param newValue The new value to assign to the specified field.
          */
-        public UpdateInput(int taskIndex, String fieldType, String newValue) {
-            this.taskIndex = taskIndex;
+        public UpdateInput(TaskReference taskReference, String fieldType, String newValue) {
+            this.taskReference = taskReference;
             this.fieldType = fieldType;
             this.newValue = newValue;
         }
 
+        /**
+         * Returns the reference to the task to update.
+         *
+         * @return The task ID or position for the update operation.
+         */
+        public TaskReference getTaskReference() { return taskReference; }
+
         /**
          * Returns the zero-based index of the task to update.
          *
-         * @return The task index for the update operation.
+         * @return The task index for the update operation, or -1 if the task is referenced by ID.
          */
-        public int getTaskIndex() { return taskIndex; }
+        public int getTaskIndex() { return taskReference.getTaskIndex(); }
 
         /**
          * Returns the field type to be updated.
@@ -0,0 +1,222 @@
+package keeka.backend;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import keeka.tasks.Task;
+
+/**
+ * Decodes saved task lines such as {@code 3. [D][X] submit report (by: 2025-03-15)}
+ * in a single pass over the raw bytes of the line.
+ *
+ * <p>Instead of splitting the line with regular expressions and substrings, the decoder
+ * locates each delimiter by index, creates only the description string, and parses
+ * ISO dates of the usual shapes directly from their digits. Anything unusual falls back
+ * to {@link LocalDate#parse} and {@link LocalDateTime#parse}, so the decoded tasks are
+ * the same as those produced by splitting the text. The number in front of the line is
+ * the stable ID of the task.
+ */
+public class SaveLineDecoder {
+    private static final byte[] INDEX_SEPARATOR = ". ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BY_MARKER = " (by: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FROM_MARKER = " (from: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TO_MARKER = " to: ".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int TASK_CODE_OFFSET = 1;
+    private static final int MARKED_STATUS_OFFSET = 4;
+    private static final int DESCRIPTION_OFFSET = 7;
+
+    private static final int DATE_LENGTH = 10;
+    private static final int DATE_TIME_LENGTH = 16;
+    private static final int DATE_TIME_SECONDS_LENGTH = 19;
+
+    /**
+     * Decodes a saved task line held in a string.
+     *
+     * @param line The complete saved task line.
+     * @return The task described by the line.
+     * @throws IllegalArgumentException If the line is not a valid saved task.
+     * @throws java.time.DateTimeException If a date in the line is invalid.
+     */
+    public Task decode(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decodes a saved task line held in a byte range, without creating a string for the whole line.
+     *
+     * @param bytes The UTF-8 bytes containing the line.
+     * @param start The offset of the first byte of the line.
+     * @param end The offset just past the last byte of the line, excluding the line break.
+     * @return The task described by the line, carrying the ID from the line if it has a valid one.
+     * @throws IllegalArgumentException If the line is not a valid saved task.
+     * @throws java.time.DateTimeException If a date in the line is invalid.
+     */
+    public Task decode(byte[] bytes, int start, int end) {
+        int separator = indexOf(bytes, start, end, INDEX_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Missing task number");
+        }
+
+        int taskStart = separator + INDEX_SEPARATOR.length;
+        int contentStart = taskStart + DESCRIPTION_OFFSET;
+        if (contentStart > end) {
+            throw new IllegalArgumentException("Incomplete task line");
+        }
+
+        char taskCode = (char) bytes[taskStart + TASK_CODE_OFFSET];
+        boolean isDone = bytes[taskStart + MARKED_STATUS_OFFSET] == 'X';
+
+        Task task = switch (taskCode) {
+        case 'T' -> TaskFactory.createToDo(text(bytes, contentStart, end), isDone);
+        case 'D' -> decodeDeadline(bytes, contentStart, end, isDone);
+        case 'E' -> decodeEvent(bytes, contentStart, end, isDone);
+        default -> throw new IllegalArgumentException("Unknown task type: " + taskCode);
+        };
+        task.setId(parseId(bytes, start, separator));
+        return task;
+    }
+
+    /**
+     * Reads the task ID in front of the line, returning 0 if it is not a positive number
+     * so that the task list assigns a fresh one.
+     */
+    private static int parseId(byte[] bytes, int start, int end) {
+        if (end <= start || end - start > 9) {
+            return 0;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isDigit(bytes[i])) {
+                return 0;
+            }
+        }
+        return digits(bytes, start, end - start);
+    }
+
+    private Task decodeDeadline(byte[] bytes, int start, int end, boolean isDone) {
+        int marker = indexOf(bytes, start, end, BY_MARKER);
+        if (marker < 0) {
+            throw new IllegalArgumentException("Missing deadline date");
+        }
+
+        String description = text(bytes, start, marker);
+        int dateStart = marker + BY_MARKER.length;
+        int dateEnd = end - 1;
+
+        if (contains(bytes, dateStart, dateEnd, 'T')) {
+            return TaskFactory.createDeadline(description, isDone, parseDateTime(bytes, dateStart, dateEnd));
+        }
+        return TaskFactory.createDeadline(description, isDone, parseDate(bytes, dateStart, dateEnd));
+    }
+
+    private Task decodeEvent(byte[] bytes, int start, int end, boolean isDone) {
+        int fromMarker = indexOf(bytes, start, end, FROM_MARKER);
+        if (fromMarker < 0) {
+            throw new IllegalArgumentException("Missing event start");
+        }
+        int startDate = fromMarker + FROM_MARKER.length;
+        int toMarker = indexOf(bytes, startDate, end, TO_MARKER);
+        if (toMarker < 0) {
+            throw new IllegalArgumentException("Missing event end");
+        }
+
+        String description = text(bytes, start, fromMarker);
+        int endDate = toMarker + TO_MARKER.length;
+        int endDateEnd = end - 1;
+
+        if (contains(bytes, startDate, toMarker, 'T') && contains(bytes, endDate, endDateEnd, 'T')) {
+            return TaskFactory.createEvent(description, isDone,
+                    parseDateTime(bytes, startDate, toMarker), parseDateTime(bytes, endDate, endDateEnd));
+        }
+        return TaskFactory.createEvent(description, isDone,
+                parseDate(bytes, startDate, toMarker), parseDate(bytes, endDate, endDateEnd));
+    }
+
+    /**
+     * Parses an ISO date, reading {@code yyyy-MM-dd} straight from its digits.
+     */
+    private static LocalDate parseDate(byte[] bytes, int start, int end) {
+        if (end - start == DATE_LENGTH && isDateShape(bytes, start)) {
+            return LocalDate.of(digits(bytes, start, 4), digits(bytes, start + 5, 2), digits(bytes, start + 8, 2));
+        }
+        return LocalDate.parse(ascii(bytes, start, end));
+    }
+
+    /**
+     * Parses an ISO date-time, reading {@code yyyy-MM-ddTHH:mm} and {@code yyyy-MM-ddTHH:mm:ss}
+     * straight from their digits.
+     */
+    private static LocalDateTime parseDateTime(byte[] bytes, int start, int end) {
+        int length = end - start;
+        boolean isMinutes = length == DATE_TIME_LENGTH;
+        boolean isSeconds = length == DATE_TIME_SECONDS_LENGTH && bytes[start + 16] == ':'
+                && isDigit(bytes[start + 17]) && isDigit(bytes[start + 18]);
+
+        if ((isMinutes || isSeconds) && isDateShape(bytes, start) && bytes[start + 10] == 'T'
+                && isDigit(bytes[start + 11]) && isDigit(bytes[start + 12]) && bytes[start + 13] == ':'
+                && isDigit(bytes[start + 14]) && isDigit(bytes[start + 15])) {
+            return LocalDateTime.of(digits(bytes, start, 4), digits(bytes, start + 5, 2),
+                    digits(bytes, start + 8, 2), digits(bytes, start + 11, 2), digits(bytes, start + 14, 2),
+                    isSeconds ? digits(bytes, start + 17, 2) : 0);
+        }
+        return LocalDateTime.parse(ascii(bytes, start, end));
+    }
+
+    private static boolean isDateShape(byte[] bytes, int start) {
+        return isDigit(bytes[start]) && isDigit(bytes[start + 1]) && isDigit(bytes[start + 2])
+                && isDigit(bytes[start + 3]) && bytes[start + 4] == '-'
+                && isDigit(bytes[start + 5]) && isDigit(bytes[start + 6]) && bytes[start + 7] == '-'
+                && isDigit(bytes[start + 8]) && isDigit(bytes[start + 9]);
+    }
+
+    private static int digits(byte[] bytes, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean contains(byte[] bytes, int start, int end, char target) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first occurrence of the pattern within the range, or -1 if it does not occur.
+     */
+    private static int indexOf(byte[] bytes, int start, int end, byte[] pattern) {
+        int last = end - pattern.length;
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String text(byte[] bytes, int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static String ascii(byte[] bytes, int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("Missing date");
+        }
+        return new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+    }
+}
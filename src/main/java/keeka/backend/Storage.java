@@ -1,107 +1,116 @@
 package keeka.backend;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Scanner;
 
 import keeka.tasks.Task;
 
 /**
- * Handles all file I/O operations for task persistence and data management.
- * Provides methods for saving individual tasks, updating entire task lists,
- * and loading previously saved tasks from storage files.
+ * Persistence backend for the task list.
+ * Implementations decide how tasks are laid out on disk; the rest of the application
+ * only reports changes through this interface and asks for the saved tasks on startup.
  */
-public class Storage {
-    private final String filePath;
+public interface Storage {
 
     /**
-     * Constructs a Storage instance with the specified file path for data persistence.
-     * Automatically creates the storage file and necessary directories if they don't exist.
+     * Persists a newly added task under its stable ID.
      *
-     * @param filePath The file path where tasks will be saved and loaded from.
+     * @param task The task to be saved.
+     * @param taskId The ID stored with the task, normally {@link Task#getId()}.
+     * @throws IOException If an error occurs during writing.
      */
-    public Storage(String filePath) {
-        this.filePath = filePath;
-        createFileIfNotExists();
-    }
+    void saveTask(Task task, int taskId) throws IOException;
 
     /**
-     * Appends a single task to the storage file with its assigned task number.
-     * Used when adding new tasks to maintain sequential numbering.
+     * Replaces everything in storage with the given tasks.
      *
-     * @param task The task to be saved to the storage file.
-     * @param taskNumber The sequential number assigned to this task in the list.
-     * @throws IOException If an error occurs during file writing operations.
+     * @param tasks The complete list of tasks to be written.
+     * @throws IOException If an error occurs during writing.
      */
-    public void saveTask(Task task, int taskNumber) throws IOException {
+    void updateAllTasks(List<Task> tasks) throws IOException;
 
-        assert task != null : "Task to save must not be null";
-        assert taskNumber > 0 : "Task number must be positive";
-
-        try (FileWriter writer = new FileWriter(filePath, true)) {
-            writer.write(taskNumber + ". " + task.toString() + "\n");
-        }
-    }
+    /**
+     * Persists a single change that has already been applied to the task list.
+     *
+     * @param mutation The change that was applied.
+     * @param taskList The task list after the change was applied.
+     * @throws IOException If an error occurs during writing.
+     */
+    void recordMutation(Mutation mutation, TaskList taskList) throws IOException;
 
     /**
-     * Completely rewrites the storage file with the current state of all tasks.
-     * Used when tasks are modified, deleted, or reordered to maintain consistency.
+     * Reads the saved task lines for backends that store tasks as text.
+     * The lines are decoded by the task loader.
      *
-     * @param tasks The complete list of tasks to be written to storage.
-     * @throws IOException If an error occurs during file writing operations.
+     * @return A list of saved task lines, empty for binary backends.
+     * @throws IOException If an error occurs during reading.
      */
-    public void updateAllTasks(List<Task> tasks) throws IOException {
+    List<String> loadSaveContents() throws IOException;
 
-        assert tasks != null : "Task list must not be null";
+    /**
+     * Exposes the raw bytes of the text save file so that the task loader can split it into
+     * chunks and decode them in parallel, without first materializing every line.
+     *
+     * @return A read-only buffer over the save file, empty for binary backends.
+     * @throws IOException If an error occurs during reading.
+     */
+    ByteBuffer loadSaveBuffer() throws IOException;
 
-        try (FileWriter writer = new FileWriter(filePath, false)) {
-            for (int i = 0; i < tasks.size(); i++) {
-                writer.write((i + 1) + ". " + tasks.get(i).toString() + "\n");
-            }
-        }
-    }
+    /**
+     * Reads mutation records that still have to be replayed on top of the saved tasks.
+     *
+     * @return A list of mutation records in the order they were written.
+     * @throws IOException If an error occurs during reading.
+     */
+    List<String> loadMutationRecords() throws IOException;
 
     /**
-     * Reads and returns all saved task content lines from the storage file.
-     * Each line represents a complete task with its formatting and details.
+     * Reads tasks that the backend can decode by itself without the text save format.
      *
-     * @return A list of strings, each representing a saved task line.
-     * @throws IOException If an error occurs during file reading operations.
+     * @return A list of restored tasks in list order, empty for text backends.
+     * @throws IOException If an error occurs during reading.
      */
-    public List<String> loadSaveContents() throws IOException {
+    List<Task> loadDecodedTasks() throws IOException;
 
-        File file = new File(filePath);
-        assert file.exists() : "Storage file should exist before loading contents";
+    /**
+     * Reads the lowest task ID that has never been handed out, as last saved. IDs of deleted
+     * tasks stay taken, so the task list is seeded with this value after loading to keep
+     * {@code #id} references from ever pointing at a different task.
+     *
+     * @return The next free task ID, at least 1.
+     * @throws IOException If an error occurs during reading.
+     */
+    int loadNextId() throws IOException;
 
-        List<String> contents = new ArrayList<>();
-        try (Scanner scanner = new Scanner(new File(filePath))) {
-            while (scanner.hasNextLine()) {
-                contents.add(scanner.nextLine());
-            }
-        }
+    /**
+     * Returns the codec that text save lines and mutation records of this backend are written in.
+     *
+     * @return The codec used to encode and decode saved task lines.
+     */
+    TaskCodec getCodec();
 
-        return contents;
-    }
+    /**
+     * Flushes pending writes and releases any resources held by the backend.
+     */
+    void close();
 
     /**
-     * Creates the storage file and its parent directories if they don't already exist.
-     * Ensures the application has a valid location to save task data.
+     * Opens the backend matching the file extension of the given path.
+     * Files ending in {@value MappedStorage#FILE_EXTENSION} use the memory-mapped binary backend,
+     * all other files use the text backend in write-ahead log mode, committing appended records
+     * as configured by the {@code keeka.durability} system property (see
+     * {@link GroupCommitWriter.Durability#parse(String)}).
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     * @return The storage backend for the file.
      */
-    private void createFileIfNotExists() {
-        File file = new File(filePath);
-        try {
-            // Only create parent directories if they exist (i.e., the file has a parent directory)
-            File parentDir = file.getParentFile();
-            if (parentDir != null) {
-                parentDir.mkdirs();
-            }
-            file.createNewFile();
-            assert file.exists() : "Storage file should exist after creation";
-        } catch (IOException e) {
-            System.err.println("Failed to create storage file: " + e.getMessage());
+    static Storage open(String filePath) {
+        if (filePath.endsWith(MappedStorage.FILE_EXTENSION)) {
+            return new MappedStorage(filePath);
         }
+        GroupCommitWriter.Durability durability =
+                GroupCommitWriter.Durability.parse(System.getProperty("keeka.durability", "command"));
+        return new TextStorage(filePath, TextStorage.DEFAULT_COMPACTION_THRESHOLD, durability);
     }
 }
@@ -0,0 +1,51 @@
+package keeka.backend;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one write by a storage backend, from appending a single task
+ * to rewriting the whole save file, with the number of bytes and records it wrote.
+ */
+@Name("keeka.StorageWrite")
+@Label("Storage Write")
+@Category({"Keeka", "Storage"})
+@Description("A write to the save file or mutation log")
+@StackTrace(false)
+public class StorageWriteEvent extends Event {
+    @Label("Operation")
+    @Description("append, rewrite, compact, log or update")
+    private String operation;
+
+    @Label("File")
+    private String file;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Records")
+    @Description("The number of task or mutation records written")
+    private int records;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setRecords(int records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,55 @@
+package keeka.backend;
+
+import java.nio.charset.StandardCharsets;
+
+import keeka.tasks.Task;
+
+/**
+ * Converts tasks to and from the lines kept in text save files and mutation log records.
+ * The persisted format is owned by the codec rather than by {@link Task#toString()},
+ * so the text shown to the user can change without touching files already on disk.
+ * Each codec is identified by a version number under which it is registered in {@link TaskCodecs}.
+ */
+public interface TaskCodec {
+
+    /**
+     * Returns the version number identifying the format this codec reads and writes.
+     *
+     * @return The format version.
+     */
+    int getVersion();
+
+    /**
+     * Appends the saved form of a task to the given buffer, without a line break.
+     *
+     * @param task The task to encode.
+     * @param taskId The ID written with the task.
+     * @param out The buffer the line is appended to.
+     */
+    void encode(Task task, int taskId, StringBuilder out);
+
+    /**
+     * Decodes a saved task line held in a byte range.
+     *
+     * @param bytes The UTF-8 bytes containing the line.
+     * @param start The offset of the first byte of the line.
+     * @param end The offset just past the last byte of the line, excluding the line break.
+     * @return The task described by the line, carrying the ID from the line if it has a valid one.
+     * @throws IllegalArgumentException If the line is not a valid saved task.
+     * @throws java.time.DateTimeException If a date in the line is invalid.
+     */
+    Task decode(byte[] bytes, int start, int end);
+
+    /**
+     * Decodes a saved task line held in a string.
+     *
+     * @param line The complete saved task line.
+     * @return The task described by the line.
+     * @throws IllegalArgumentException If the line is not a valid saved task.
+     * @throws java.time.DateTimeException If a date in the line is invalid.
+     */
+    default Task decode(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return decode(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,62 @@
+package keeka.backend;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the task codecs known to the application, looked up by format version.
+ * The text format is always registered as {@value #DEFAULT_VERSION}; faster formats can be
+ * registered under new versions and handed to a storage backend without changing its code.
+ */
+public final class TaskCodecs {
+    public static final int DEFAULT_VERSION = TextTaskCodec.VERSION;
+
+    private static final Map<Integer, TaskCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(TextTaskCodec.INSTANCE);
+    }
+
+    private TaskCodecs() {
+    }
+
+    /**
+     * Registers a codec under its version number.
+     *
+     * @param codec The codec to register.
+     * @throws IllegalArgumentException If another codec is already registered under the same version.
+     */
+    public static void register(TaskCodec codec) {
+
+        assert codec != null : "Codec must not be null";
+
+        TaskCodec existing = CODECS.putIfAbsent(codec.getVersion(), codec);
+        if (existing != null && existing != codec) {
+            throw new IllegalArgumentException("Codec version " + codec.getVersion() + " is already registered");
+        }
+    }
+
+    /**
+     * Returns the codec registered under the given version.
+     *
+     * @param version The format version.
+     * @return The codec for the version.
+     * @throws IllegalArgumentException If no codec is registered under the version.
+     */
+    public static TaskCodec forVersion(int version) {
+        TaskCodec codec = CODECS.get(version);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown save format version: " + version);
+        }
+        return codec;
+    }
+
+    /**
+     * Returns the codec used for save files unless a backend is given another one.
+     *
+     * @return The codec for {@link #DEFAULT_VERSION}.
+     */
+    public static TaskCodec getDefault() {
+        return forVersion(DEFAULT_VERSION);
+    }
+}
@@ -1,32 +1,109 @@
 package keeka.backend;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+import keeka.tasks.Event;
 import keeka.tasks.Task;
 
 /**
  * Manages a collection of tasks with comprehensive operations for adding, removing,
  * searching, and modifying tasks. Provides a centralized interface for all
  * task list operations while maintaining data integrity and validation.
+ *
+ * <p>Every task carries a stable ID that never changes when other tasks are removed.
+ * IDs increase along the list, so a task can be found by ID through a hash index and
+ * its position located by binary search. The words of every description are kept in a
+ * {@link TokenIndex}, which narrows a search down to the tasks with a word containing part of
+ * the keyword, so that searches do not have to scan the whole list. Substring searches
+ * can optionally be served by a {@link TrigramIndex}, at the cost of extra memory.
+ * Deadlines and events are also kept in a {@link DateIndex} for queries by time, and the
+ * periods of events in an {@link IntervalTree} for finding clashes and free time.
+ *
+ * <p>Every change is reported to the registered {@link TaskListListener}s, which lets views
+ * such as the task table follow the list incrementally.
  */
 public class TaskList {
+    /** Number of matches handed over at a time by {@link #findTasks(String, int, Consumer)}. */
+    public static final int SEARCH_BATCH_SIZE = 64;
+
+    private static final int CANCELLATION_CHECK_MASK = 0xFFF;
+
     private final ArrayList<Task> tasks;
+    private final Map<Integer, Task> tasksById;
+    private final TokenIndex tokenIndex;
+    private final TrigramIndex trigramIndex;
+    private final DateIndex dateIndex;
+    private final IntervalTree eventIntervals;
+    private final List<TaskListListener> listeners;
+    private int nextId;
 
     /**
-     * Constructs an empty TaskList ready to store and manage tasks.
+     * Constructs an empty TaskList ready to store and manage tasks, without a trigram index.
      */
     public TaskList() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty TaskList ready to store and manage tasks.
+     *
+     * @param isTrigramIndexed Whether substring searches are served by a trigram index.
+     */
+    public TaskList(boolean isTrigramIndexed) {
         this.tasks = new ArrayList<>();
+        this.tasksById = new HashMap<>();
+        this.tokenIndex = new TokenIndex();
+        this.trigramIndex = isTrigramIndexed ? new TrigramIndex() : null;
+        this.dateIndex = new DateIndex();
+        this.eventIntervals = new IntervalTree();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.nextId = 1;
     }
 
     /**
-     * Adds a new task to the end of the task list.
+     * Adds a new task to the end of the task list. A task without an ID, or with an ID
+     * that is not greater than every ID already in the list, is given the next free ID.
      *
      * @param task The task to be added to the list.
      */
     public void addTask(Task task) {
+        if (task.getId() < nextId) {
+            task.setId(nextId);
+        }
+        nextId = task.getId() + 1;
         tasks.add(task);
+        tasksById.put(task.getId(), task);
+        index(task);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+
+    /**
+     * Returns the ID the next task added without a higher ID of its own will be given.
+     *
+     * @return The next free task ID.
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Makes sure no ID below the given one is handed out again, such as the IDs of tasks
+     * that were deleted before the list was saved. Never lowers the next ID.
+     *
+     * @param id The lowest ID that may still be handed out.
+     */
+    public void reserveIdsBelow(int id) {
+        nextId = Math.max(nextId, id);
     }
 
     /**
@@ -37,7 +114,38 @@ public class TaskList {
      */
     public void removeTask(int index) {
         if (isValidIndex(index)) {
-            tasks.remove(index);
+            Task task = tasks.remove(index);
+            tasksById.remove(task.getId());
+            unindex(task);
+            for (TaskListListener listener : listeners) {
+                listener.taskRemoved(task);
+            }
+        }
+    }
+
+    /**
+     * Marks the task at the specified index position as done.
+     * Only changes the task if the index is valid (within bounds).
+     *
+     * @param index The zero-based index of the task to be marked.
+     */
+    public void markTask(int index) {
+        if (isValidIndex(index)) {
+            tasks.get(index).markAsDone();
+            notifyChanged(tasks.get(index));
+        }
+    }
+
+    /**
+     * Marks the task at the specified index position as not done.
+     * Only changes the task if the index is valid (within bounds).
+     *
+     * @param index The zero-based index of the task to be unmarked.
+     */
+    public void unmarkTask(int index) {
+        if (isValidIndex(index)) {
+            tasks.get(index).markAsNotDone();
+            notifyChanged(tasks.get(index));
         }
     }
 
@@ -51,30 +159,179 @@ public class TaskList {
         return isValidIndex(index) ? tasks.get(index) : null;
     }
 
+    /**
+     * Retrieves the task with the specified ID.
+     *
+     * @param id The stable ID of the task to retrieve.
+     * @return The task with the given ID, or null if there is none.
+     */
+    public Task getTaskById(int id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Finds the current position of the task with the specified ID.
+     *
+     * @param id The stable ID of the task to locate.
+     * @return The zero-based index of the task, or -1 if there is none.
+     */
+    public int indexOfId(int id) {
+        if (!tasksById.containsKey(id)) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Replaces an existing task at the specified index with a new task.
      * Only performs the replacement if the index is valid (within bounds).
+     * The new task takes over the ID of the task it replaces.
      *
      * @param index The zero-based index of the task to be replaced.
      * @param newTask The new task that will replace the existing task.
      */
     public void replaceTask(int index, Task newTask) {
         if (isValidIndex(index)) {
+            Task oldTask = tasks.get(index);
+            newTask.setId(oldTask.getId());
             tasks.set(index, newTask);
+            tasksById.put(newTask.getId(), newTask);
+            unindex(oldTask);
+            index(newTask);
+            notifyChanged(newTask);
         }
     }
 
     /**
-     * Searches for tasks that contain the specified keyword in their description.
-     * Returns a filtered list of all matching tasks.
+     * Searches for tasks whose descriptions contain the keyword exactly, case included.
+     * This is the search behind the {@code find} command.
+     * With a trigram index, only the tasks containing every trigram of the text are checked.
+     * Otherwise, or for text shorter than a trigram, only the candidates of the token index are
+     * checked: the tasks having every whole word of the text, or a word containing the text's
+     * leading or trailing run of letters and digits. Every task is checked if the text has no
+     * letters or digits. The search stops early if the calling thread is interrupted.
      *
-     * @param keyword The search term to look for in task descriptions.
-     * @return A list of tasks whose descriptions contain the keyword.
+     * @param keyword The exact text to look for in task descriptions.
+     * @return A list of tasks whose descriptions contain the text, in list order.
+     * @throws CancellationException If the calling thread was interrupted during the search.
      */
     public List<Task> findTasks(String keyword) {
-        return tasks.stream()
-                .filter(task -> task.getDescription().contains(keyword))
-                .toList();
+        List<Task> foundTasks = new ArrayList<>();
+        scanContaining(keyword, Integer.MAX_VALUE, foundTasks::add);
+        return foundTasks;
+    }
+
+    /**
+     * Searches like {@link #findTasks(String)}, but hands the matches over in batches of
+     * {@value #SEARCH_BATCH_SIZE} as they are found, so a caller can show the first results
+     * before a long scan has finished. The search stops once the limit is reached, and
+     * stops early if the calling thread is interrupted.
+     *
+     * @param keyword The search term to look for in task descriptions.
+     * @param limit The largest number of matches to hand over.
+     * @param batches Receives each batch of matching tasks, in list order.
+     * @return The number of matches handed over.
+     * @throws CancellationException If the calling thread was interrupted during the search.
+     */
+    public int findTasks(String keyword, int limit, Consumer<List<Task>> batches) {
+        List<Task> batch = new ArrayList<>(SEARCH_BATCH_SIZE);
+        Consumer<Task> collector = task -> {
+            batch.add(task);
+            if (batch.size() == SEARCH_BATCH_SIZE) {
+                batches.accept(new ArrayList<>(batch));
+                batch.clear();
+            }
+        };
+
+        int found = scanContaining(keyword, limit, collector);
+        if (!batch.isEmpty()) {
+            batches.accept(batch);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the deadlines due strictly before the given time.
+     *
+     * @param before The exclusive upper bound of the due time.
+     * @return A list of matching deadlines, earliest first.
+     */
+    public List<Task> findDeadlinesBefore(LocalDateTime before) {
+        return toTasks(dateIndex.deadlinesBefore(DateIndex.keyOf(before)));
+    }
+
+    /**
+     * Finds the deadlines due and the events starting within the given time range.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return A list of matching tasks, earliest first.
+     */
+    public List<Task> findTasksScheduled(LocalDateTime from, LocalDateTime to) {
+        return toTasks(dateIndex.scheduledBetween(DateIndex.keyOf(from), DateIndex.keyOf(to)));
+    }
+
+    /**
+     * Finds the other events whose periods overlap the period of the given event.
+     *
+     * @param event The event to check for clashes.
+     * @return A list of overlapping events ordered by start time, excluding the event itself.
+     */
+    public List<Task> findOverlappingEvents(Event event) {
+        List<Task> overlapping = new ArrayList<>();
+        for (long[] interval : eventIntervals.overlapping(DateIndex.startKeyOf(event), DateIndex.endKeyOf(event))) {
+            if (interval[2] != event.getId()) {
+                overlapping.add(tasksById.get((int) interval[2]));
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * Finds the periods within the given range that are not taken by any event.
+     * Only the events overlapping the range are visited.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return A list of free slots in time order.
+     */
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to) {
+        long rangeEnd = DateIndex.keyOf(to);
+        long cursor = DateIndex.keyOf(from);
+        List<TimeSlot> slots = new ArrayList<>();
+        for (long[] interval : eventIntervals.overlapping(cursor, rangeEnd)) {
+            if (interval[0] > cursor) {
+                slots.add(new TimeSlot(toDateTime(cursor), toDateTime(interval[0])));
+            }
+            cursor = Math.max(cursor, interval[1]);
+        }
+        if (cursor < rangeEnd) {
+            slots.add(new TimeSlot(toDateTime(cursor), to));
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the trigram index used for substring searches, for reporting its size.
+     *
+     * @return The trigram index, or null if this list was created without one.
+     */
+    public TrigramIndex getTrigramIndex() {
+        return trigramIndex;
     }
 
     /**
@@ -105,6 +362,162 @@ public class TaskList {
         return new ArrayList<>(tasks);
     }
 
+    /**
+     * Returns a copy of the tasks between two positions, so that showing part of a large list
+     * does not copy all of it.
+     *
+     * @param fromIndex The zero-based position of the first task, inclusive.
+     * @param toIndex The zero-based position after the last task, exclusive.
+     * @return A new ArrayList containing the tasks in the range.
+     */
+    public List<Task> getTasks(int fromIndex, int toIndex) {
+
+        assert 0 <= fromIndex && fromIndex <= toIndex && toIndex <= tasks.size() : "Range must lie within the list";
+
+        return new ArrayList<>(tasks.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Registers a listener to be told about every later change to the list.
+     * Listeners may be added from any thread.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling a listener about changes to the list.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyChanged(Task task) {
+        for (TaskListListener listener : listeners) {
+            listener.taskChanged(task);
+        }
+    }
+
+    /**
+     * Adds a task to every search index.
+     */
+    private void index(Task task) {
+        IndexUpdateEvent update = new IndexUpdateEvent();
+        update.begin();
+        tokenIndex.add(task);
+        dateIndex.add(task);
+        if (task instanceof Event event) {
+            eventIntervals.add(DateIndex.startKeyOf(event), DateIndex.endKeyOf(event), event.getId());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(task);
+        }
+        commitIndexUpdate(update, "add", task);
+    }
+
+    /**
+     * Removes a task from every search index.
+     */
+    private void unindex(Task task) {
+        IndexUpdateEvent update = new IndexUpdateEvent();
+        update.begin();
+        tokenIndex.remove(task);
+        dateIndex.remove(task);
+        if (task instanceof Event event) {
+            eventIntervals.remove(DateIndex.startKeyOf(event), event.getId());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.remove(task);
+        }
+        commitIndexUpdate(update, "remove", task);
+    }
+
+    /**
+     * Ends an index update event and commits it if Flight Recorder is recording it.
+     */
+    private static void commitIndexUpdate(IndexUpdateEvent update, String operation, Task task) {
+        update.end();
+        if (update.shouldCommit()) {
+            update.setOperation(operation);
+            update.setTaskId(task.getId());
+            update.commit();
+        }
+    }
+
+    /**
+     * Passes the tasks whose descriptions contain the text to the action in list order,
+     * checking only the trigram candidates when there is a trigram index, and otherwise
+     * the token index candidates when it can narrow the search.
+     *
+     * @return The number of tasks passed to the action, at most the limit.
+     */
+    private int scanContaining(String keyword, int limit, Consumer<Task> action) {
+        int[] candidates = trigramIndex != null && keyword.length() >= TrigramIndex.GRAM_LENGTH
+                ? trigramIndex.candidates(keyword)
+                : tokenIndex.candidatesContaining(keyword);
+        if (candidates == null) {
+            return scanAll(keyword, limit, action);
+        }
+        return scanCandidates(candidates, keyword, limit, action);
+    }
+
+    /**
+     * Checks every task in list order.
+     */
+    private int scanAll(String keyword, int limit, Consumer<Task> action) {
+        int found = 0;
+        for (int i = 0; i < tasks.size() && found < limit; i++) {
+            checkNotCancelled(i);
+            if (tasks.get(i).getDescription().contains(keyword)) {
+                action.accept(tasks.get(i));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks only the tasks with the given IDs, which must be in ascending order.
+     */
+    private int scanCandidates(int[] candidates, String keyword, int limit, Consumer<Task> action) {
+        int found = 0;
+        for (int i = 0; i < candidates.length && found < limit; i++) {
+            checkNotCancelled(i);
+            Task task = tasksById.get(candidates[i]);
+            if (task.getDescription().contains(keyword)) {
+                action.accept(task);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Aborts a long scan once the calling thread has been interrupted, checking only
+     * every few thousand steps so that the check does not slow the scan down.
+     */
+    private static void checkNotCancelled(int step) {
+        if ((step & CANCELLATION_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search cancelled");
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private List<Task> toTasks(List<Integer> ids) {
+        List<Task> foundTasks = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            foundTasks.add(tasksById.get(id));
+        }
+        return foundTasks;
+    }
+
     /**
      * Validates whether the provided index is within the valid range of the task list.
      *
@@ -0,0 +1,33 @@
+package keeka.backend;
+
+import keeka.tasks.Task;
+
+/**
+ * Receives every change made to a {@link TaskList}, so that a view of the list can be
+ * updated one task at a time instead of being rebuilt from scratch.
+ * Listeners are called on the thread that changed the list, after the change was applied.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called after a task has been appended to the end of the list.
+     *
+     * @param task The added task, which already has its ID.
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Called after a task has been marked, unmarked or replaced. The changed task
+     * keeps the ID of the task it was before the change.
+     *
+     * @param task The task as it is after the change.
+     */
+    void taskChanged(Task task);
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param task The removed task.
+     */
+    void taskRemoved(Task task);
+}
@@ -1,6 +1,10 @@
 package keeka.backend;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import keeka.tasks.Task;
 
@@ -8,12 +12,19 @@ import keeka.tasks.Task;
  * Handles loading and reconstruction of tasks from storage into the task list.
  * Responsible for parsing saved task data and recreating appropriate task objects
  * while maintaining data integrity and handling various task types.
+ * Saved lines are decoded with the {@link TaskCodec} of the storage backend.
  */
 public class TaskLoader {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final String SAVE_FILE_SOURCE = "save file";
+    private static final String MUTATION_LOG_SOURCE = "mutation log";
+
     private final TaskList taskList;
     private final Storage storage;
     private final Parser parser;
-    private final TaskFactory taskFactory;
+    private final TaskCodec codec;
+    private final int chunkSize;
+    private final Metrics metrics;
 
     /**
      * Constructs a TaskLoader with required dependencies for task restoration.
@@ -23,106 +34,242 @@ public class TaskLoader {
      * @param parser The parser for processing saved task content.
      */
     public TaskLoader(TaskList taskList, Storage storage, Parser parser) {
+        this(taskList, storage, parser, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a TaskLoader that decodes the save file in chunks of the given size.
+     *
+     * @param taskList The task list to populate with loaded tasks.
+     * @param storage The storage handler for reading saved task data.
+     * @param parser The parser for processing saved task content.
+     * @param chunkSize The approximate number of bytes decoded by each parallel task.
+     */
+    public TaskLoader(TaskList taskList, Storage storage, Parser parser, int chunkSize) {
+        this(taskList, storage, parser, chunkSize, new Metrics());
+    }
+
+    /**
+     * Constructs a TaskLoader that records how long each loading phase takes.
+     *
+     * @param taskList The task list to populate with loaded tasks.
+     * @param storage The storage handler for reading saved task data.
+     * @param parser The parser for processing saved task content.
+     * @param chunkSize The approximate number of bytes decoded by each parallel task.
+     * @param metrics The registry the phases are recorded in, under {@code load.<phase>}.
+     */
+    public TaskLoader(TaskList taskList, Storage storage, Parser parser, int chunkSize, Metrics metrics) {
 
         assert taskList != null : "TaskList must not be null";
         assert storage != null : "Storage must not be null";
         assert parser != null : "Parser must not be null";
+        assert chunkSize > 0 : "Chunk size must be positive";
 
         this.taskList = taskList;
         this.storage = storage;
         this.parser = parser;
-        this.taskFactory = new TaskFactory();
+        this.codec = storage.getCodec();
+        this.chunkSize = chunkSize;
+        this.metrics = metrics;
     }
 
     /**
-     * Loads all previously saved tasks from storage and adds them to the task list.
-     * Handles parsing errors gracefully and continues loading other tasks if some fail.
+     * Loads all previously saved tasks from storage and adds them to the task list,
+     * decoding text save lines for text backends, then replays any mutation records
+     * that have not yet been compacted into the save file.
+     * Lines that fail to decode are skipped and collected into the returned report,
+     * which is summarized once on the error stream. The report also carries the size of the
+     * trigram index, if the task list has one. The time spent adding backend-decoded tasks, decoding
+     * the text save file and replaying the log is recorded per phase, and in total, with each
+     * phase also emitted as a {@link LoadPhaseEvent} when Flight Recorder is running.
+     * Finally the task list is told which IDs were already handed out, so that IDs of
+     * deleted tasks are not reused.
+     *
+     * @return A report of how many tasks were loaded, which lines were skipped and how large
+     *         the trigram index is.
      */
-    public void loadTasks() {
+    public LoadReport loadTasks() {
+        LoadReport report = new LoadReport();
+        int initialSize = taskList.size();
+        long loadStart = System.nanoTime();
         try {
-            List<String> saveContents = storage.loadSaveContents();
-            for (String content : saveContents) {
-                Task task = createTaskFromSaveContent(content);
-                if (task != null) {
-                    taskList.addTask(task);
-                }
+            LoadPhaseEvent event = new LoadPhaseEvent();
+            event.begin();
+            long phaseStart = System.nanoTime();
+            List<Task> decoded = storage.loadDecodedTasks();
+            for (Task task : decoded) {
+                taskList.addTask(task);
             }
+            metrics.recordSince("load.decodedTasks", phaseStart);
+            commitPhase(event, "decodedTasks", decoded.size());
+
+            event = new LoadPhaseEvent();
+            event.begin();
+            phaseStart = System.nanoTime();
+            int sizeBefore = taskList.size();
+            loadSaveContents(storage.loadSaveBuffer(), report);
+            metrics.recordSince("load.saveFile", phaseStart);
+            commitPhase(event, "saveFile", taskList.size() - sizeBefore);
+
+            event = new LoadPhaseEvent();
+            event.begin();
+            phaseStart = System.nanoTime();
+            List<String> records = storage.loadMutationRecords();
+            for (int i = 0; i < records.size(); i++) {
+                replayMutation(records.get(i), i + 1, report);
+            }
+            metrics.recordSince("load.mutationLog", phaseStart);
+            commitPhase(event, "mutationLog", records.size());
+
+            taskList.reserveIdsBelow(storage.loadNextId());
         } catch (Exception e) {
             System.err.println("Failed to load tasks: " + e.getMessage());
         }
+        metrics.recordSince("load.total", loadStart);
+
+        report.addLoaded(taskList.size() - initialSize);
+        if (report.hasFailures()) {
+            System.err.println(report.summarizeFailures());
+        }
+        if (taskList.getTrigramIndex() != null) {
+            report.setIndexMemory(taskList.getTrigramIndex().describeMemory());
+        }
+        return report;
     }
 
     /**
-     * Creates a task object from a saved content line by parsing the content
-     * and determining the appropriate task type and properties.
+     * Splits the saved text into line-aligned chunks, decodes the chunks in parallel on the
+     * common fork-join pool and adds the results to the task list in their original order.
      *
-     * @param saveContent The complete saved task line from storage.
-     * @return A reconstructed Task object, or null if parsing fails.
+     * @param content The contents of the save file.
+     * @param report The report collecting lines that failed to decode.
      */
-    private Task createTaskFromSaveContent(String saveContent) {
-        try {
-            Parser.ParsedSaveContent parsed = parser.parseSaveContent(saveContent);
-            char taskCode = parsed.getTaskCode();
-            boolean isDone = parsed.isDone();
-            String content = parsed.getTaskContent();
-
-            return switch (taskCode) {
-            case 'T' -> TaskFactory.createToDo(content, isDone);
-            case 'D' -> createDeadlineFromContent(content, isDone);
-            case 'E' -> createEventFromContent(content, isDone);
-            default -> null;
-            };
-        } catch (Exception e) {
-            System.err.println("Failed to parse task: " + saveContent);
-            return null;
+    private void loadSaveContents(ByteBuffer content, LoadReport report) {
+        List<int[]> chunks = splitIntoChunks(content);
+        List<DecodedChunk> decodedChunks = IntStream.range(0, chunks.size())
+                .parallel()
+                .mapToObj(i -> decodeChunk(content, chunks.get(i)[0], chunks.get(i)[1]))
+                .toList();
+
+        int linesBefore = 0;
+        for (DecodedChunk chunk : decodedChunks) {
+            for (Task task : chunk.tasks) {
+                taskList.addTask(task);
+            }
+            for (LoadReport.Failure failure : chunk.failures) {
+                report.addFailure(failure.shiftedBy(linesBefore));
+            }
+            linesBefore += chunk.lineCount;
+        }
+    }
+
+    /**
+     * Divides the content into ranges of roughly the chunk size, each extended to end
+     * just after a line break so that no line is split between two chunks.
+     *
+     * @param content The contents of the save file.
+     * @return A list of start and end offsets, one pair per chunk.
+     */
+    private List<int[]> splitIntoChunks(ByteBuffer content) {
+        List<int[]> chunks = new ArrayList<>();
+        int limit = content.limit();
+        int start = 0;
+        while (start < limit) {
+            int end = Math.min(start + chunkSize, limit);
+            while (end < limit && content.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new int[] {start, end});
+            start = end;
         }
+        return chunks;
     }
 
     /**
-     * Creates a Deadline task from saved content by parsing the description
-     * and due date, supporting both LocalDate and LocalDateTime formats.
+     * Decodes every line between the given offsets straight from the bytes, creating a string
+     * for a whole line only when it fails to decode. Runs on a worker thread, so it only
+     * reads the shared buffer with absolute gets and keeps its results to itself.
      *
-     * @param content The saved deadline task content including description and date.
-     * @param isDone The completion status of the deadline task.
-     * @return A reconstructed Deadline task object.
+     * @param content The contents of the save file.
+     * @param start The offset of the first byte of the chunk.
+     * @param end The offset just past the last byte of the chunk.
+     * @return The tasks and failures of the chunk, with line numbers relative to the chunk.
      */
-    private Task createDeadlineFromContent(String content, boolean isDone) {
-        String[] parts = content.split(" \\(by: ", 2);
-        String description = parts[0];
-        String dateString = parts[1].substring(0, parts[1].length() - 1);
-
-        if (dateString.contains("T")) {
-            return TaskFactory.createDeadline(description, isDone,
-                java.time.LocalDateTime.parse(dateString));
-        } else {
-            return TaskFactory.createDeadline(description, isDone,
-                java.time.LocalDate.parse(dateString));
+    private DecodedChunk decodeChunk(ByteBuffer content, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        content.get(start, bytes);
+
+        DecodedChunk chunk = new DecodedChunk();
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int textEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            chunk.lineCount++;
+
+            try {
+                chunk.tasks.add(codec.decode(bytes, lineStart, textEnd));
+            } catch (Exception e) {
+                String line = new String(bytes, lineStart, textEnd - lineStart, StandardCharsets.UTF_8);
+                chunk.failures.add(new LoadReport.Failure(SAVE_FILE_SOURCE, chunk.lineCount, line, describe(e)));
+            }
+            lineStart = lineEnd + 1;
         }
+        return chunk;
     }
 
     /**
-     * Creates an Event task from saved content by parsing the description,
-     * start time, and end time, supporting both LocalDate and LocalDateTime formats.
+     * Applies a single mutation record from the log to the task list.
      *
-     * @param content The saved event task content including description and time range.
-     * @param isDone The completion status of the event task.
-     * @return A reconstructed Event task object.
+     * @param record The complete mutation record from the log.
+     * @param lineNumber The one-based position of the record in the log.
+     * @param report The report collecting records that failed to replay.
+     */
+    private void replayMutation(String record, int lineNumber, LoadReport report) {
+        try {
+            Parser.MutationRecord mutation = parser.parseMutationRecord(record);
+            int index = taskList.indexOfId(mutation.getTaskId());
+            if (index < 0 && mutation.getTypeCode() != 'A') {
+                throw new IllegalArgumentException("Unknown task #" + mutation.getTaskId());
+            }
+
+            switch (mutation.getTypeCode()) {
+            case 'A' -> taskList.addTask(codec.decode(mutation.getSaveContent()));
+            case 'M' -> taskList.markTask(index);
+            case 'U' -> taskList.unmarkTask(index);
+            case 'D' -> taskList.removeTask(index);
+            case 'R' -> taskList.replaceTask(index, codec.decode(mutation.getSaveContent()));
+            default -> throw new IllegalArgumentException("Unknown mutation type: " + mutation.getTypeCode());
+            }
+        } catch (Exception e) {
+            report.addFailure(new LoadReport.Failure(MUTATION_LOG_SOURCE, lineNumber, record, describe(e)));
+        }
+    }
+
+    /**
+     * Ends a load phase event and commits it if Flight Recorder is recording it.
      */
-    private Task createEventFromContent(String content, boolean isDone) {
-        String[] parts = content.split(" \\(from: ", 2);
-        String description = parts[0];
-        String[] dateParts = parts[1].split(" to: ", 2);
-        String startString = dateParts[0];
-        String endString = dateParts[1].substring(0, dateParts[1].length() - 1);
-
-        if (startString.contains("T") && endString.contains("T")) {
-            return TaskFactory.createEvent(description, isDone,
-                java.time.LocalDateTime.parse(startString),
-                java.time.LocalDateTime.parse(endString));
-        } else {
-            return TaskFactory.createEvent(description, isDone,
-                java.time.LocalDate.parse(startString),
-                java.time.LocalDate.parse(endString));
+    private static void commitPhase(LoadPhaseEvent event, String phase, int records) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setPhase(phase);
+            event.setRecords(records);
+            event.commit();
         }
     }
+
+    private static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Tasks and failures decoded from one chunk of the save file.
+     */
+    private static class DecodedChunk {
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<LoadReport.Failure> failures = new ArrayList<>();
+        private int lineCount;
+    }
 }
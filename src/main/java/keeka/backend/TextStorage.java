@@ -0,0 +1,569 @@
+package keeka.backend;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import keeka.tasks.Task;
+
+/**
+ * Storage backend that keeps tasks in a human-readable text file, one task per line.
+ * Provides methods for saving individual tasks, updating entire task lists,
+ * and loading previously saved tasks from storage files.
+ *
+ * <p>In write-ahead log mode, changes are appended to a {@link MutationLog} instead of
+ * rewriting the save file, and the log is folded back into the save file by a background
+ * compaction once it grows past a threshold.
+ *
+ * <p>Appended lines are handed to a {@link GroupCommitWriter}, which keeps the file open and
+ * commits lines in batches according to the configured durability.
+ *
+ * <p>Every append, rewrite and compaction is emitted as a {@link StorageWriteEvent} when
+ * Flight Recorder is running, with the number of bytes and task lines it wrote.
+ *
+ * <p>Task lines are written by a {@link TaskCodec}, the text format of {@link TextTaskCodec}
+ * unless another codec is given. Whole-file writes encode into one reused buffer that is
+ * handed to the file in chunks.
+ *
+ * <p>Whole-file writes start with a {@code #next-id <n>} header line holding the lowest task ID
+ * never handed out, so that the IDs of deleted tasks are not reused after a restart. Files
+ * without the header, such as those written by earlier versions, are still read.
+ */
+public class TextStorage implements Storage {
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final int WRITE_CHUNK_SIZE = 8192;
+    private static final String NEXT_ID_HEADER = "#next-id ";
+
+    private final String filePath;
+    private final MutationLog mutationLog;
+    private final int compactionThreshold;
+    private final ExecutorService compactor;
+    private final GroupCommitWriter.Durability durability;
+    private final TaskCodec codec;
+    private final StringBuilder lineBuffer;
+    private GroupCommitWriter appendWriter;
+    private Future<?> pendingCompaction;
+    private int nextId;
+
+    /**
+     * Constructs a Storage instance with the specified file path for data persistence.
+     * Automatically creates the storage file and necessary directories if they don't exist.
+     * Every change other than an addition rewrites the whole file.
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     */
+    public TextStorage(String filePath) {
+        this.filePath = filePath;
+        this.mutationLog = null;
+        this.compactionThreshold = 0;
+        this.compactor = null;
+        this.durability = GroupCommitWriter.Durability.perCommand();
+        this.codec = TaskCodecs.getDefault();
+        this.lineBuffer = new StringBuilder();
+        this.nextId = 1;
+        createFileIfNotExists();
+    }
+
+    /**
+     * Constructs a Storage instance in write-ahead log mode. Changes are appended to a
+     * mutation log next to the save file and compacted into it once the log holds
+     * the given number of records.
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     * @param compactionThreshold The number of log records that triggers a compaction.
+     */
+    public TextStorage(String filePath, int compactionThreshold) {
+        this(filePath, compactionThreshold, GroupCommitWriter.Durability.perCommand());
+    }
+
+    /**
+     * Constructs a Storage instance in write-ahead log mode whose appended records are
+     * committed according to the given durability policy.
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     * @param compactionThreshold The number of log records that triggers a compaction.
+     * @param durability The policy deciding when appended records are committed.
+     */
+    public TextStorage(String filePath, int compactionThreshold, GroupCommitWriter.Durability durability) {
+        this(filePath, compactionThreshold, durability, TaskCodecs.getDefault());
+    }
+
+    /**
+     * Constructs a Storage instance in write-ahead log mode that writes its save file
+     * and mutation records in the format of the given codec.
+     *
+     * @param filePath The file path where tasks will be saved and loaded from.
+     * @param compactionThreshold The number of log records that triggers a compaction.
+     * @param durability The policy deciding when appended records are committed.
+     * @param codec The codec that task lines are encoded and decoded with.
+     */
+    public TextStorage(String filePath, int compactionThreshold, GroupCommitWriter.Durability durability,
+            TaskCodec codec) {
+
+        assert compactionThreshold > 0 : "Compaction threshold must be positive";
+        assert codec != null : "Codec must not be null";
+
+        this.filePath = filePath;
+        this.mutationLog = new MutationLog(filePath, durability);
+        this.compactionThreshold = compactionThreshold;
+        this.durability = durability;
+        this.codec = codec;
+        this.lineBuffer = new StringBuilder();
+        this.nextId = 1;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keeka-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        createFileIfNotExists();
+        recoverCompaction();
+    }
+
+    /**
+     * Checks whether this storage appends changes to a mutation log.
+     *
+     * @return True if write-ahead log mode is enabled, false otherwise.
+     */
+    public boolean isJournaled() {
+        return mutationLog != null;
+    }
+
+    /**
+     * Appends a single task to the storage file, prefixed with its stable ID.
+     * Used when adding new tasks to the end of the list.
+     *
+     * @param task The task to be saved to the storage file.
+     * @param taskId The ID written in front of the task.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    @Override
+    public void saveTask(Task task, int taskId) throws IOException {
+
+        assert task != null : "Task to save must not be null";
+        assert taskId > 0 : "Task ID must be positive";
+
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        if (appendWriter == null) {
+            appendWriter = new GroupCommitWriter(Paths.get(filePath), durability);
+        }
+        lineBuffer.setLength(0);
+        codec.encode(task, taskId, lineBuffer);
+        String line = lineBuffer.toString();
+        appendWriter.write(line);
+        nextId = Math.max(nextId, taskId + 1);
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, "append", filePath, lineBytes(line), 1);
+        }
+    }
+
+    /**
+     * Completely rewrites the storage file with the current state of all tasks.
+     * Used when tasks are modified, deleted, or reordered to maintain consistency.
+     *
+     * @param tasks The complete list of tasks to be written to storage.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    @Override
+    public void updateAllTasks(List<Task> tasks) throws IOException {
+
+        assert tasks != null : "Task list must not be null";
+
+        closeAppendWriter();
+        if (isJournaled()) {
+            awaitCompaction();
+            mutationLog.rotate();
+            writeCompactedSnapshot(encodeTasks(tasks), tasks.size());
+            return;
+        }
+
+        writeTasks(filePath, tasks, "rewrite");
+    }
+
+    /**
+     * Persists a single change to the task list. In write-ahead log mode the change is
+     * appended to the mutation log, and a compaction is started once the log passes the
+     * threshold. Otherwise additions are appended and every other change rewrites the file.
+     *
+     * @param mutation The change that was applied to the task list.
+     * @param taskList The task list after the change was applied.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    @Override
+    public void recordMutation(Mutation mutation, TaskList taskList) throws IOException {
+
+        assert mutation != null : "Mutation must not be null";
+        assert taskList != null : "Task list must not be null";
+
+        nextId = Math.max(nextId, taskList.getNextId());
+        if (!isJournaled()) {
+            if (mutation.getType() == Mutation.Type.ADD) {
+                saveTask(mutation.getTask(), mutation.getTaskId());
+            } else {
+                closeAppendWriter();
+                writeTasks(filePath, taskList.getAllTasks(), "rewrite");
+            }
+            return;
+        }
+
+        mutationLog.append(mutation.toRecord(codec));
+        if (mutationLog.size() >= compactionThreshold) {
+            startCompaction(taskList.getAllTasks());
+        }
+    }
+
+    /**
+     * Reads the mutation records that have not yet been folded into the save file.
+     * Returns an empty list when write-ahead log mode is disabled.
+     *
+     * @return A list of mutation records in the order they were written.
+     * @throws IOException If an error occurs during file reading operations.
+     */
+    @Override
+    public List<String> loadMutationRecords() throws IOException {
+        return isJournaled() ? mutationLog.readRecords() : new ArrayList<>();
+    }
+
+    /**
+     * Drains every queued append, waits for any running compaction to finish and
+     * stops the background threads.
+     */
+    @Override
+    public void close() {
+        try {
+            closeAppendWriter();
+            if (isJournaled()) {
+                mutationLog.close();
+                awaitCompaction();
+                compactor.shutdown();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to close storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads and returns all saved task content lines from the storage file.
+     * Each line represents a complete task with its formatting and details.
+     *
+     * @return A list of strings, each representing a saved task line.
+     * @throws IOException If an error occurs during file reading operations.
+     */
+    @Override
+    public List<String> loadSaveContents() throws IOException {
+
+        if (appendWriter != null) {
+            appendWriter.flush();
+        }
+        File file = new File(filePath);
+        assert file.exists() : "Storage file should exist before loading contents";
+
+        List<String> contents = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(filePath))) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                if (contents.isEmpty() && line.startsWith(NEXT_ID_HEADER)) {
+                    continue;
+                }
+                contents.add(line);
+            }
+        }
+
+        return contents;
+    }
+
+    /**
+     * Maps the save file read-only, after committing any queued appends.
+     * The mapping stays valid after the channel is closed.
+     *
+     * @return A read-only buffer over the task lines of the save file, without its header.
+     * @throws IOException If an error occurs during file reading operations.
+     */
+    @Override
+    public ByteBuffer loadSaveBuffer() throws IOException {
+        if (appendWriter != null) {
+            appendWriter.flush();
+        }
+        ByteBuffer content;
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (content.limit() == 0 || content.get(0) != NEXT_ID_HEADER.charAt(0)) {
+            return content;
+        }
+        int headerEnd = 0;
+        while (headerEnd < content.limit() && content.get(headerEnd) != '\n') {
+            headerEnd++;
+        }
+        int start = Math.min(headerEnd + 1, content.limit());
+        return content.slice(start, content.limit() - start);
+    }
+
+    /**
+     * Reads the next free ID from the header of the save file, or from the tasks saved
+     * in this session if that is higher.
+     *
+     * @return The next free task ID, at least 1.
+     * @throws IOException If the file cannot be read or its header is malformed.
+     */
+    @Override
+    public int loadNextId() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header != null && header.startsWith(NEXT_ID_HEADER)) {
+                nextId = Math.max(nextId, Integer.parseInt(header.substring(NEXT_ID_HEADER.length()).trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed save file header in " + filePath, e);
+        }
+        return nextId;
+    }
+
+    /**
+     * Returns an empty list, as text save lines are decoded by the task loader.
+     *
+     * @return An empty list.
+     */
+    @Override
+    public List<Task> loadDecodedTasks() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public TaskCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Rotates the mutation log and folds it into a new snapshot on the background compactor.
+     * Only one compaction runs at a time, so a new one waits for the previous to finish.
+     * The snapshot is encoded on the calling thread, so the compactor never reads tasks
+     * that later commands may change.
+     *
+     * @param tasks A copy of all tasks taken after the latest logged change.
+     * @throws IOException If the previous compaction or the log rotation failed.
+     */
+    private void startCompaction(List<Task> tasks) throws IOException {
+        closeAppendWriter();
+        awaitCompaction();
+        mutationLog.rotate();
+        String snapshot = encodeTasks(tasks);
+        int records = tasks.size();
+        pendingCompaction = compactor.submit(() -> {
+            writeCompactedSnapshot(snapshot, records);
+            return null;
+        });
+    }
+
+    /**
+     * Writes the encoded tasks to a temporary snapshot and then replaces the save file with it.
+     * The rotated log is discarded in between, which commits the compaction: a crash before
+     * that point keeps the old snapshot and log, and a crash after it is finished on startup.
+     *
+     * @param snapshot The save lines of all tasks, each ending in a newline.
+     * @param records The number of tasks in the snapshot.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    private void writeCompactedSnapshot(String snapshot, int records) throws IOException {
+        Path compactPath = Paths.get(filePath + COMPACT_SUFFIX);
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        try (FileWriter writer = new FileWriter(compactPath.toString(), false)) {
+            writer.write(snapshot);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, "compact", compactPath.toString(), Files.size(compactPath), records);
+        }
+        mutationLog.discardRotated();
+        Files.move(compactPath, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Finishes or rolls back a compaction that was interrupted in a previous session.
+     */
+    private void recoverCompaction() {
+        Path compactPath = Paths.get(filePath + COMPACT_SUFFIX);
+        try {
+            if (!Files.exists(compactPath)) {
+                return;
+            }
+            if (mutationLog.hasRotated()) {
+                Files.delete(compactPath);
+            } else {
+                Files.move(compactPath, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to recover storage compaction: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drains and closes the writer appending to the save file, so that the file can be
+     * rewritten or replaced. A new writer is opened on the next append.
+     *
+     * @throws IOException If the queued lines could not be written.
+     */
+    private void closeAppendWriter() throws IOException {
+        if (appendWriter != null) {
+            GroupCommitWriter closing = appendWriter;
+            appendWriter = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has completed.
+     *
+     * @throws IOException If the compaction failed.
+     */
+    private void awaitCompaction() throws IOException {
+        if (pendingCompaction == null) {
+            return;
+        }
+        try {
+            pendingCompaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compacting storage", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compaction failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pendingCompaction = null;
+        }
+    }
+
+    /**
+     * Writes every task with its ID to the given file, replacing its contents.
+     * Tasks that were never added to a task list are numbered by position instead.
+     *
+     * @param path The file to write to.
+     * @param tasks The complete list of tasks to be written.
+     * @param operation The name the write is recorded under in Flight Recorder.
+     * @throws IOException If an error occurs during file writing operations.
+     */
+    private void writeTasks(String path, List<Task> tasks, String operation) throws IOException {
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        StringBuilder text = new StringBuilder(WRITE_CHUNK_SIZE * 2);
+        char[] chunk = new char[WRITE_CHUNK_SIZE];
+        appendNextIdHeader(tasks, text);
+        try (FileWriter writer = new FileWriter(path, false)) {
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                int id = task.getId() > 0 ? task.getId() : i + 1;
+                codec.encode(task, id, text);
+                text.append('\n');
+                if (text.length() >= WRITE_CHUNK_SIZE) {
+                    drain(text, chunk, writer);
+                }
+            }
+            drain(text, chunk, writer);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            commitWrite(event, operation, path, Files.size(Paths.get(path)), tasks.size());
+        }
+    }
+
+    /**
+     * Encodes every task with its ID into save lines, numbering tasks that were never added
+     * to a task list by position like {@link #writeTasks(String, List, String)}.
+     *
+     * @param tasks The complete list of tasks to be encoded.
+     * @return The header and save lines, each ending in a newline.
+     */
+    private String encodeTasks(List<Task> tasks) {
+        StringBuilder text = new StringBuilder(WRITE_CHUNK_SIZE);
+        appendNextIdHeader(tasks, text);
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            int id = task.getId() > 0 ? task.getId() : i + 1;
+            codec.encode(task, id, text);
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Raises the next free ID above every ID about to be written and appends it as the header line.
+     */
+    private void appendNextIdHeader(List<Task> tasks, StringBuilder text) {
+        for (int i = 0; i < tasks.size(); i++) {
+            int id = tasks.get(i).getId() > 0 ? tasks.get(i).getId() : i + 1;
+            nextId = Math.max(nextId, id + 1);
+        }
+        text.append(NEXT_ID_HEADER).append(nextId).append('\n');
+    }
+
+    /**
+     * Copies the buffered text to the writer through the reused chunk array and empties the buffer.
+     */
+    private static void drain(StringBuilder text, char[] chunk, Writer writer) throws IOException {
+        for (int from = 0; from < text.length(); from += chunk.length) {
+            int to = Math.min(from + chunk.length, text.length());
+            text.getChars(from, to, chunk, 0);
+            writer.write(chunk, 0, to - from);
+        }
+        text.setLength(0);
+    }
+
+    /**
+     * Fills in a storage write event that Flight Recorder is recording and commits it.
+     */
+    private static void commitWrite(StorageWriteEvent event, String operation, String path, long bytes,
+            int records) {
+        event.setOperation(operation);
+        event.setFile(path);
+        event.setBytes(bytes);
+        event.setRecords(records);
+        event.commit();
+    }
+
+    /**
+     * Returns the number of bytes a line takes in the file, including its line break.
+     */
+    private static long lineBytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8).length + 1L;
+    }
+
+    /**
+     * Creates the storage file and its parent directories if they don't already exist.
+     * Ensures the application has a valid location to save task data.
+     */
+    private void createFileIfNotExists() {
+        File file = new File(filePath);
+        try {
+            // Only create parent directories if they exist (i.e., the file has a parent directory)
+            File parentDir = file.getParentFile();
+            if (parentDir != null) {
+                parentDir.mkdirs();
+            }
+            file.createNewFile();
+            assert file.exists() : "Storage file should exist after creation";
+        } catch (IOException e) {
+            System.err.println("Failed to create storage file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package keeka.backend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+/**
+ * Codec for the original human-readable save format, such as
+ * {@code 3. [D][X] submit report (by: 2025-03-15)}.
+ *
+ * <p>Lines are appended piece by piece instead of going through {@link String#format},
+ * and dates of the usual shapes are written digit by digit, so encoding a task creates
+ * no intermediate strings. The output is identical to the ID followed by the task's
+ * {@code toString()} as it was saved before, so existing files stay readable both ways.
+ * Decoding is done by {@link SaveLineDecoder}.
+ */
+public class TextTaskCodec implements TaskCodec {
+    public static final int VERSION = 1;
+    public static final TextTaskCodec INSTANCE = new TextTaskCodec();
+
+    private static final int MAX_PLAIN_YEAR = 9999;
+
+    private final SaveLineDecoder decoder = new SaveLineDecoder();
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Appends the task as {@code <id>. [<code>][<status>] <description>} followed by
+     * the dates of deadlines and events.
+     *
+     * @param task The task to encode.
+     * @param taskId The ID written in front of the task.
+     * @param out The buffer the line is appended to.
+     */
+    @Override
+    public void encode(Task task, int taskId, StringBuilder out) {
+        out.append(taskId).append(". [").append(task.getTaskCode()).append("][")
+                .append(task.isDone() ? 'X' : ' ').append("] ").append(task.getDescription());
+
+        if (task instanceof Deadline deadline) {
+            out.append(" (by: ");
+            if (deadline.getDateTime() != null) {
+                appendDateTime(out, deadline.getDateTime());
+            } else {
+                appendDate(out, deadline.getDate());
+            }
+            out.append(')');
+        } else if (task instanceof Event event) {
+            out.append(" (from: ");
+            if (event.getStartDateTime() != null) {
+                appendDateTime(out, event.getStartDateTime());
+                out.append(" to: ");
+                appendDateTime(out, event.getEndDateTime());
+            } else {
+                appendDate(out, event.getStartDate());
+                out.append(" to: ");
+                appendDate(out, event.getEndDate());
+            }
+            out.append(')');
+        }
+    }
+
+    @Override
+    public Task decode(byte[] bytes, int start, int end) {
+        return decoder.decode(bytes, start, end);
+    }
+
+    /**
+     * Appends a date as {@link LocalDate#toString()} would, writing four-digit years directly.
+     */
+    private static void appendDate(StringBuilder out, LocalDate date) {
+        if (date.getYear() < 0 || date.getYear() > MAX_PLAIN_YEAR) {
+            out.append(date);
+            return;
+        }
+        appendDigits(out, date.getYear(), 4);
+        out.append('-');
+        appendDigits(out, date.getMonthValue(), 2);
+        out.append('-');
+        appendDigits(out, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Appends a date and time as {@link LocalDateTime#toString()} would, omitting zero seconds.
+     * Times with fractional seconds are rare enough to be left to {@code toString()}.
+     */
+    private static void appendDateTime(StringBuilder out, LocalDateTime dateTime) {
+        if (dateTime.getNano() != 0) {
+            out.append(dateTime);
+            return;
+        }
+        appendDate(out, dateTime.toLocalDate());
+        out.append('T');
+        appendDigits(out, dateTime.getHour(), 2);
+        out.append(':');
+        appendDigits(out, dateTime.getMinute(), 2);
+        if (dateTime.getSecond() != 0) {
+            out.append(':');
+            appendDigits(out, dateTime.getSecond(), 2);
+        }
+    }
+
+    /**
+     * Appends a non-negative number padded with leading zeros to the given width.
+     */
+    private static void appendDigits(StringBuilder out, int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
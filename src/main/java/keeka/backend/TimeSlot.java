@@ -0,0 +1,35 @@
+package keeka.backend;
+
+import java.time.LocalDateTime;
+
+/**
+ * A half-open period of time, such as a gap between events.
+ */
+public class TimeSlot {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Constructs a TimeSlot covering the given period.
+     *
+     * @param start The inclusive start of the slot.
+     * @param end The exclusive end of the slot.
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return start + " to " + end;
+    }
+}
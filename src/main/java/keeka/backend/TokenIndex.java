@@ -0,0 +1,227 @@
+package keeka.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import keeka.tasks.Task;
+
+/**
+ * Inverted index from the words of task descriptions to the IDs of the tasks containing them.
+ * Words are normalized to lower case and split on every character that is not a letter or digit,
+ * so {@code "Read the Book!"} is indexed under {@code read}, {@code the} and {@code book}.
+ *
+ * <p>The index narrows down the substring searches of the {@code find} command. A run of letters
+ * and digits with other characters on both sides in the searched text must be a whole word of
+ * every matching description, so such runs are looked up directly. Each posting list is kept
+ * sorted by task ID, which is also the order of the task list, so several whole words are
+ * answered by intersecting posting lists, walking the shortest one and probing the others.
+ * Only a run at either end of the text may be part of a longer word; it is matched against
+ * every indexed word, and only when the text has no whole word.
+ */
+public class TokenIndex {
+    private final Map<String, NavigableSet<Integer>> postings;
+
+    /**
+     * Constructs an empty TokenIndex.
+     */
+    public TokenIndex() {
+        this.postings = new HashMap<>();
+    }
+
+    /**
+     * Adds the words of a task's description to the index.
+     *
+     * @param task The task to index, which must already have its ID.
+     */
+    public void add(Task task) {
+
+        assert task.getId() > 0 : "Indexed tasks must have an ID";
+
+        for (String token : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(token, key -> new TreeSet<>()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes the words of a task's description from the index.
+     *
+     * @param task The task to remove, with the same description it was indexed with.
+     */
+    public void remove(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            NavigableSet<Integer> ids = postings.get(token);
+            if (ids != null && ids.remove(task.getId()) && ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions may contain the given text. If the text has whole words,
+     * runs of letters and digits with other characters on both sides, the candidates are the
+     * intersection of their posting lists. Otherwise the runs of ASCII letters and digits at
+     * either end are matched against every indexed word, and the tasks with a word containing
+     * the run that matches fewer tasks are the candidates. The candidates still have to be
+     * checked against the text.
+     *
+     * @param text The text that is searched for.
+     * @return The candidate task IDs in ascending order, or null if the text has neither a whole
+     *         word nor an ASCII run of letters and digits, in which case the index cannot narrow
+     *         the search.
+     */
+    public int[] candidatesContaining(String text) {
+        List<NavigableSet<Integer>> wholeWords = null;
+        String firstRun = null;
+        String lastRun = null;
+        int start = -1;
+        boolean isAscii = true;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                    isAscii = true;
+                }
+                isAscii &= c < 0x80;
+            } else if (start >= 0) {
+                String run = text.substring(start, i).toLowerCase();
+                if (start > 0 && i < text.length()) {
+                    NavigableSet<Integer> ids = postings.get(run);
+                    if (ids == null) {
+                        return new int[0];
+                    }
+                    if (wholeWords == null) {
+                        wholeWords = new ArrayList<>();
+                    }
+                    wholeWords.add(ids);
+                } else if (isAscii && start == 0) {
+                    firstRun = run;
+                } else if (isAscii) {
+                    lastRun = run;
+                }
+                start = -1;
+            }
+        }
+
+        if (wholeWords != null) {
+            return intersect(wholeWords);
+        }
+        return candidatesContainingRun(firstRun, lastRun);
+    }
+
+    /**
+     * Collects the tasks with a word containing the given run, or the other one if it matches
+     * fewer tasks. Either run may be null.
+     */
+    private int[] candidatesContainingRun(String firstRun, String lastRun) {
+        String bestRun = firstRun;
+        int bestCount = firstRun != null ? countContaining(firstRun) : Integer.MAX_VALUE;
+        if (lastRun != null && bestCount > 0) {
+            int count = countContaining(lastRun);
+            if (count < bestCount) {
+                bestRun = lastRun;
+                bestCount = count;
+            }
+        }
+
+        if (bestRun == null) {
+            return null;
+        }
+        if (bestCount == 0) {
+            return new int[0];
+        }
+        int[] ids = new int[bestCount];
+        int count = 0;
+        for (Map.Entry<String, NavigableSet<Integer>> posting : postings.entrySet()) {
+            if (posting.getKey().contains(bestRun)) {
+                for (int id : posting.getValue()) {
+                    ids[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Returns the number of distinct words in the index.
+     *
+     * @return The number of posting lists.
+     */
+    public int size() {
+        return postings.size();
+    }
+
+    /**
+     * Splits text into lower-case words at every character that is not a letter or digit.
+     * Repeated words are returned once.
+     *
+     * @param text The text to split.
+     * @return The distinct words of the text in the order they first appear.
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Adds up the sizes of the posting lists of every word containing the run.
+     */
+    private int countContaining(String run) {
+        int count = 0;
+        for (Map.Entry<String, NavigableSet<Integer>> posting : postings.entrySet()) {
+            if (posting.getKey().contains(run)) {
+                count += posting.getValue().size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Walks the shortest posting list and keeps the IDs found in every other one.
+     */
+    private static int[] intersect(List<NavigableSet<Integer>> lists) {
+        lists.sort(Comparator.comparingInt(NavigableSet::size));
+        int[] ids = new int[lists.get(0).size()];
+        int count = 0;
+        for (int id : lists.get(0)) {
+            if (isInAll(lists, id)) {
+                ids[count++] = id;
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    private static boolean isInAll(List<NavigableSet<Integer>> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,209 @@
+package keeka.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import keeka.tasks.Task;
+
+/**
+ * Index from every three-character sequence of the task descriptions to the IDs of the
+ * tasks containing it. A task can only contain a substring if it contains every trigram
+ * of that substring, so intersecting the posting lists of the query's trigrams narrows the
+ * search down to a few candidates, which the caller then checks with {@link String#contains}.
+ *
+ * <p>Trigrams are case-sensitive and taken over the raw characters, so together with that
+ * final check the results are exactly those of a linear {@code contains} scan. Posting lists
+ * are plain sorted {@code int} arrays, which keeps the index compact enough for its size to
+ * be estimated with {@link #estimateMemoryBytes()}.
+ */
+public class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int MAP_ENTRY_BYTES = 32;
+    private static final int BOXED_KEY_BYTES = 16;
+    private static final int POSTING_LIST_BYTES = 24;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final Map<Long, PostingList> postings;
+    private long postingCount;
+
+    /**
+     * Constructs an empty TrigramIndex.
+     */
+    public TrigramIndex() {
+        this.postings = new HashMap<>();
+    }
+
+    /**
+     * Adds every trigram of a task's description to the index.
+     *
+     * @param task The task to index, which must already have its ID.
+     */
+    public void add(Task task) {
+
+        assert task.getId() > 0 : "Indexed tasks must have an ID";
+
+        String description = task.getDescription();
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            if (postings.computeIfAbsent(trigramAt(description, i), key -> new PostingList()).add(task.getId())) {
+                postingCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes every trigram of a task's description from the index.
+     *
+     * @param task The task to remove, with the same description it was indexed with.
+     */
+    public void remove(Task task) {
+        String description = task.getDescription();
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            long trigram = trigramAt(description, i);
+            PostingList ids = postings.get(trigram);
+            if (ids != null && ids.remove(task.getId())) {
+                postingCount--;
+                if (ids.size == 0) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks that may contain the query, namely those containing every trigram of it.
+     * Candidates still have to be checked against their descriptions.
+     *
+     * @param query The text to search for, at least {@value #GRAM_LENGTH} characters long.
+     * @return The candidate task IDs in ascending order.
+     */
+    public int[] candidates(String query) {
+
+        assert query.length() >= GRAM_LENGTH : "Query is too short to be split into trigrams";
+
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            PostingList ids = postings.get(trigramAt(query, i));
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        PostingList shortest = lists.get(0);
+        int[] matches = new int[shortest.size];
+        int count = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            if (isInAll(lists, id)) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Returns the number of distinct trigrams in the index.
+     *
+     * @return The number of posting lists.
+     */
+    public int getTrigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Returns the number of task IDs stored across all posting lists.
+     *
+     * @return The total length of the posting lists.
+     */
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    /**
+     * Estimates the heap used by the index on a 64-bit JVM with compressed references:
+     * the hash table, one entry, boxed key and posting list per trigram, and the backing
+     * arrays of the posting lists including their unused capacity.
+     *
+     * @return The approximate size of the index in bytes.
+     */
+    public long estimateMemoryBytes() {
+        long tableSlots = Integer.highestOneBit(Math.max(postings.size() * 4 / 3, 1)) * 2L;
+        long bytes = OBJECT_HEADER_BYTES + tableSlots * REFERENCE_BYTES;
+        for (PostingList ids : postings.values()) {
+            bytes += MAP_ENTRY_BYTES + BOXED_KEY_BYTES + POSTING_LIST_BYTES
+                    + OBJECT_HEADER_BYTES + (long) ids.ids.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Describes the size of the index in a short message.
+     *
+     * @return The trigram count, posting count and estimated memory of the index.
+     */
+    public String describeMemory() {
+        return "Trigram index: " + getTrigramCount() + " trigrams, " + postingCount + " postings, about "
+                + (estimateMemoryBytes() + 1023) / 1024 + " KiB";
+    }
+
+    private static long trigramAt(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    private static boolean isInAll(List<PostingList> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Growable array of task IDs kept in ascending order. New tasks have the largest ID so far
+     * and are appended at the end; only replaced tasks are inserted in the middle.
+     */
+    private static class PostingList {
+        private int[] ids = new int[2];
+        private int size;
+
+        private boolean add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return false;
+            }
+            int position = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return false;
+            }
+            position = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+            return true;
+        }
+
+        private boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
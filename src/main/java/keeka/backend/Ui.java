@@ -1,24 +1,97 @@
 package keeka.backend;
 
 
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import keeka.tasks.Task;
 
 /**
  * Handles all user interface operations and message display functionality.
- * Manages a message buffer for GUI communication while also providing
- * console output for debugging and CLI usage.
+ * Keeps the latest message for GUI communication and writes every message to an
+ * {@link OutputSink}, which is flushed once per interaction rather than once per line.
+ * Lists of tasks are streamed to the sink line by line instead of being built into one string.
+ *
+ * <p>Command results are rendered by {@link #show(CommandResult)}. When the sink discards messages
+ * (see {@link OutputSink#isDiscarding()}), a result is only rendered if {@link #getLatestMessage()}
+ * asks for it.
  */
 public class Ui {
-    private final List<String> messageBuffer;
+    /**
+     * Longest message kept for {@link #getLatestMessage()}. Task lines beyond it are still
+     * written to the sink, but are only counted in the kept copy.
+     */
+    public static final int LATEST_MESSAGE_LIMIT = 64 * 1024;
+
+    private final OutputSink sink;
+    private String latestMessage;
+    private CommandResult unrenderedResult;
 
     /**
-     * Constructs a new Ui instance with an empty message buffer ready for operation.
+     * Constructs a new Ui instance that prints messages to the console.
      */
     public Ui() {
-        this.messageBuffer = new ArrayList<>();
+        this(new ConsoleSink());
+    }
+
+    /**
+     * Constructs a new Ui instance that writes messages to the given sink.
+     *
+     * @param sink The destination of every message shown.
+     */
+    public Ui(OutputSink sink) {
+        this.sink = sink;
+        this.latestMessage = "";
+    }
+
+    /**
+     * Displays the result of a command. If the sink discards every message, the result is kept
+     * and only rendered once {@link #getLatestMessage()} is called.
+     *
+     * @param result The result to display.
+     */
+    public void show(CommandResult result) {
+        if (sink.isDiscarding()) {
+            unrenderedResult = result;
+            return;
+        }
+        render(result);
+    }
+
+    /**
+     * Renders a command result through the matching display method.
+     */
+    private void render(CommandResult result) {
+        if (result instanceof CommandResult.TaskAdded added && added.getOverlapping().isEmpty()) {
+            showTaskAdded(added.getTask(), added.getTotalTasks());
+        } else if (result instanceof CommandResult.TaskAdded added) {
+            showEventAdded(added.getTask(), added.getTotalTasks(), added.getOverlapping());
+        } else if (result instanceof CommandResult.TaskMarked marked) {
+            showTaskMarked(marked.getTask());
+        } else if (result instanceof CommandResult.TaskUnmarked unmarked) {
+            showTaskUnmarked(unmarked.getTask());
+        } else if (result instanceof CommandResult.TaskDeleted deleted) {
+            showTaskDeleted(deleted.getTask(), deleted.getRemainingTasks());
+        } else if (result instanceof CommandResult.TaskUpdated updated) {
+            showTaskUpdated(updated.getTask());
+        } else if (result instanceof CommandResult.TasksListed listed) {
+            showTaskRange(listed.getTasks(), listed.getFromIndex(), listed.getTotalCount());
+        } else if (result instanceof CommandResult.TasksFound found) {
+            showFoundTasks(found.getTasks());
+        } else if (result instanceof CommandResult.TasksScheduled scheduled) {
+            showScheduledTasks(scheduled.getTasks());
+        } else if (result instanceof CommandResult.FreeSlots free) {
+            showFreeSlots(free.getDay(), free.getSlots());
+        } else if (result instanceof CommandResult.MetricsReport report) {
+            showMetrics(report.getMetrics());
+        } else if (result instanceof CommandResult.Goodbye) {
+            showGoodbye();
+        } else if (result instanceof CommandResult.Error error) {
+            showError(error.getMessage());
+        } else {
+            throw new IllegalArgumentException("Unknown command result: " + result);
+        }
     }
 
     /**
@@ -46,6 +119,25 @@ public class Ui {
         addMessage("Task successfully added:\n" + task + "\nTask counter: " + totalTasks);
     }
 
+    /**
+     * Displays a confirmation message when an event is successfully added,
+     * followed by a warning listing any other events it overlaps.
+     *
+     * @param event The event that was successfully added.
+     * @param totalTasks The total number of tasks after adding this event.
+     * @param overlapping The other events whose periods overlap the new event.
+     */
+    public void showEventAdded(Task event, int totalTasks, List<Task> overlapping) {
+        StringBuilder text = new StringBuilder("Task successfully added:\n" + event + "\nTask counter: " + totalTasks);
+        if (!overlapping.isEmpty()) {
+            text.append("\nWarning: this event overlaps with:\n");
+            for (int i = 0; i < overlapping.size(); i++) {
+                appendTaskLine(text, i + 1, overlapping.get(i));
+            }
+        }
+        addMessage(text.toString());
+    }
+
     /**
      * Displays a confirmation message when a task is successfully marked as done.
      *
@@ -85,26 +177,44 @@ public class Ui {
     }
 
     /**
-     * Displays the complete list of tasks with sequential numbering.
+     * Displays the complete list of tasks with sequential numbering and their stable IDs.
      * Shows a message if the list is empty rather than a blank display.
      *
      * @param tasks The list of tasks to display to the user.
      */
     public void showTaskList(List<Task> tasks) {
-        if (tasks.isEmpty()) {
+        showTaskRange(tasks, 0, tasks.size());
+    }
+
+    /**
+     * Displays a range of the task list, numbered by position in the whole list and followed
+     * by a hint if more tasks come after it. A range covering the whole list is shown like
+     * {@link #showTaskList(List)}.
+     *
+     * @param tasks The tasks in the range, in list order.
+     * @param fromIndex The zero-based position of the first task of the range in the list.
+     * @param totalCount The number of tasks in the whole list.
+     */
+    public void showTaskRange(List<Task> tasks, int fromIndex, int totalCount) {
+        if (totalCount == 0) {
             addMessage("List is empty! Add tasks to display");
             return;
         }
 
-        StringBuilder listText = new StringBuilder("Displaying list items\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            listText.append(i + 1).append(". ").append(tasks.get(i).toString()).append("\n");
+        int toIndex = fromIndex + tasks.size();
+        if (fromIndex == 0 && toIndex == totalCount) {
+            showTaskLines("Displaying list items\n", tasks, 1, "");
+            return;
         }
-        addMessage(listText.toString());
+        String header = "Displaying list items " + (fromIndex + 1) + "-" + toIndex + " of " + totalCount + "\n";
+        String footer = toIndex < totalCount
+                ? (totalCount - toIndex) + " more task(s). Use list page <n> or list <from>-<to> to see them"
+                : "";
+        showTaskLines(header, tasks, fromIndex + 1, footer);
     }
 
     /**
-     * Displays the results of a task search operation with sequential numbering.
+     * Displays the results of a task search operation with sequential numbering and stable IDs.
      * Shows a message if no tasks match the search criteria.
      *
      * @param tasks The list of tasks that match the search query.
@@ -114,12 +224,93 @@ public class Ui {
             addMessage("Unable to find any matches for your query!");
             return;
         }
+        showTaskLines("Displaying items that match your query\n", tasks, 1, "");
+    }
 
-        StringBuilder listText = new StringBuilder("Displaying items that match your query\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            listText.append(i + 1).append(". ").append(tasks.get(i).toString()).append("\n");
+    /**
+     * Displays the results of a date query in chronological order with sequential numbering.
+     * Shows a message if no deadline or event falls in the queried period.
+     *
+     * @param tasks The deadlines and events that match the query, earliest first.
+     */
+    public void showScheduledTasks(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            addMessage("No deadlines or events in that period!");
+            return;
         }
-        addMessage(listText.toString());
+
+        showTaskLines("Displaying scheduled items\n", tasks, 1, "");
+    }
+
+    /**
+     * Displays the periods of a day that are not taken by any event.
+     *
+     * @param day The day that was queried.
+     * @param slots The free slots within the day, in time order.
+     */
+    public void showFreeSlots(LocalDate day, List<TimeSlot> slots) {
+        if (slots.isEmpty()) {
+            addMessage("No free time on " + day + "!");
+            return;
+        }
+
+        StringBuilder text = new StringBuilder("Free time on " + day + "\n");
+        for (TimeSlot slot : slots) {
+            text.append(formatTime(slot.getStart(), day)).append(" - ")
+                    .append(formatTime(slot.getEnd(), day)).append("\n");
+        }
+        addMessage(text.toString());
+    }
+
+    /**
+     * Formats a time within the given day as {@code HH:mm}, showing the end of the day as 24:00.
+     */
+    private static String formatTime(LocalDateTime time, LocalDate day) {
+        if (!time.toLocalDate().equals(day)) {
+            return "24:00";
+        }
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+
+    /**
+     * Appends a numbered task line, followed by the stable ID of the task if it has one.
+     */
+    private static void appendTaskLine(StringBuilder text, int number, Task task) {
+        text.append(number).append(". ").append(task.toString());
+        if (task.getId() > 0) {
+            text.append(" (#").append(task.getId()).append(")");
+        }
+        text.append("\n");
+    }
+
+    /**
+     * Displays how many tasks were loaded from the save file, listing any lines that were skipped
+     * and the size of the trigram index, if there is one.
+     *
+     * @param report The report of the loading run.
+     */
+    public void showLoadReport(LoadReport report) {
+        String message = "Loaded " + report.getLoadedCount() + " task(s)";
+        if (report.hasFailures()) {
+            message += "\n" + report.summarizeFailures();
+        }
+        if (report.getIndexMemory() != null) {
+            message += "\n" + report.getIndexMemory();
+        }
+        addMessage(message);
+    }
+
+    /**
+     * Displays how long commands, storage calls and loading phases have taken so far.
+     *
+     * @param metrics The registry holding the timings.
+     */
+    public void showMetrics(Metrics metrics) {
+        if (metrics.isEmpty()) {
+            addMessage("No timings recorded yet!");
+            return;
+        }
+        addMessage("Timings so far\n" + metrics.report());
     }
 
     /**
@@ -132,25 +323,66 @@ public class Ui {
     }
 
     /**
-     * Retrieves the most recently added message from the buffer.
+     * Retrieves the most recently shown message.
      * Used primarily by GUI components to get the latest response.
      *
-     * @return The latest message added to the buffer, or empty string if buffer is empty.
+     * @return The latest message shown, or empty string if none has been shown yet.
      */
     public String getLatestMessage() {
-        return messageBuffer.isEmpty() ? "" : messageBuffer.get(messageBuffer.size() - 1);
+        if (unrenderedResult != null) {
+            render(unrenderedResult);
+        }
+        return latestMessage;
+    }
+
+    /**
+     * Writes out the messages shown since the last flush. Called once at the end of
+     * every interaction.
+     */
+    public void flush() {
+        sink.flush();
+    }
+
+    /**
+     * Streams a header, one numbered line per task and a footer to the sink as one message.
+     * Only the lines that fit within {@link #LATEST_MESSAGE_LIMIT} are kept as the latest message,
+     * followed by a count of the lines left out.
+     */
+    private void showTaskLines(String header, List<Task> tasks, int firstNumber, String footer) {
+        StringBuilder kept = new StringBuilder(header);
+        StringBuilder line = new StringBuilder();
+        int omitted = 0;
+
+        sink.beginMessage();
+        sink.append(header);
+        for (int i = 0; i < tasks.size(); i++) {
+            line.setLength(0);
+            appendTaskLine(line, firstNumber + i, tasks.get(i));
+            sink.append(line);
+            if (omitted == 0 && kept.length() + line.length() <= LATEST_MESSAGE_LIMIT) {
+                kept.append(line);
+            } else {
+                omitted++;
+            }
+        }
+        sink.append(footer);
+        sink.endMessage();
+
+        if (omitted > 0) {
+            kept.append("... ").append(omitted).append(" more line(s) not kept\n");
+        }
+        unrenderedResult = null;
+        latestMessage = kept.append(footer).toString();
     }
 
     /**
-     * Adds a message to the buffer and prints it to the console with formatting.
-     * Provides both GUI support through buffering and CLI support through console output.
+     * Keeps a message as the latest one and queues it on the sink.
      *
-     * @param message The message to add to the buffer and display.
+     * @param message The message to display.
      */
     private void addMessage(String message) {
-        messageBuffer.add(message);
-        System.out.println("====================================================================");
-        System.out.println(message);
-        System.out.println("====================================================================");
+        unrenderedResult = null;
+        latestMessage = message;
+        sink.write(message);
     }
 }
@@ -0,0 +1,77 @@
+package keeka.gui;
+
+/**
+ * A single message in the conversation view, either typed by the user or sent by Keeka.
+ * Very long messages, such as the listing of a large task list, are cut down to a fixed
+ * number of lines once when the message is created, so that no cell ever has to lay out
+ * tens of thousands of lines of text.
+ */
+public class ChatMessage {
+    public static final int MAX_RENDERED_LINES = 200;
+
+    private final String text;
+    private final String renderedText;
+    private final boolean isFromUser;
+
+    private ChatMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.renderedText = truncate(text);
+        this.isFromUser = isFromUser;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text The text of the message.
+     * @return A message shown on the user's side of the conversation.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true);
+    }
+
+    /**
+     * Creates a message sent by Keeka.
+     *
+     * @param text The text of the message.
+     * @return A message shown on Keeka's side of the conversation.
+     */
+    public static ChatMessage fromKeeka(String text) {
+        return new ChatMessage(text, false);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getRenderedText() {
+        return renderedText;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    /**
+     * Keeps the first {@value #MAX_RENDERED_LINES} lines of the text and notes how many were left out.
+     */
+    private static String truncate(String text) {
+        int end = -1;
+        for (int line = 0; line < MAX_RENDERED_LINES; line++) {
+            end = text.indexOf('\n', end + 1);
+            if (end < 0) {
+                return text;
+            }
+        }
+        if (end == text.length() - 1) {
+            return text;
+        }
+
+        int hiddenLines = 1;
+        for (int i = end + 1; i < text.length() - 1; i++) {
+            if (text.charAt(i) == '\n') {
+                hiddenLines++;
+            }
+        }
+        return text.substring(0, end + 1) + "... (" + hiddenLines + " more lines)";
+    }
+}
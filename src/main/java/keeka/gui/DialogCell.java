@@ -0,0 +1,74 @@
+package keeka.gui;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+
+/**
+ * List cell showing one message of the conversation as a dialog box: the speaker's picture
+ * next to a label with the message text. The nodes are built once in code and reused as the
+ * list view recycles the cell for other messages, so scrolling never loads any FXML.
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    private static final double PICTURE_SIZE = 99.0;
+    private static final double HORIZONTAL_MARGIN = 40.0;
+
+    private final Image userImage;
+    private final Image keekaImage;
+    private final Label dialog;
+    private final ImageView displayPicture;
+    private final HBox dialogBox;
+
+    /**
+     * Constructs a DialogCell that shows messages with the given pictures.
+     *
+     * @param userImage The picture shown next to the user's messages.
+     * @param keekaImage The picture shown next to Keeka's messages.
+     */
+    public DialogCell(Image userImage, Image keekaImage) {
+        this.userImage = userImage;
+        this.keekaImage = keekaImage;
+
+        dialog = new Label();
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.maxWidthProperty().bind(widthProperty().subtract(PICTURE_SIZE + HORIZONTAL_MARGIN));
+
+        displayPicture = new ImageView();
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPreserveRatio(true);
+
+        dialogBox = new HBox();
+        dialogBox.setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        dialog.setText(message.getRenderedText());
+        if (message.isFromUser()) {
+            displayPicture.setImage(userImage);
+            dialogBox.getChildren().setAll(dialog, displayPicture);
+            dialogBox.setAlignment(Pos.TOP_RIGHT);
+        } else {
+            displayPicture.setImage(keekaImage);
+            dialogBox.getChildren().setAll(displayPicture, dialog);
+            dialogBox.setAlignment(Pos.TOP_LEFT);
+        }
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,143 @@
+package keeka.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+import keeka.backend.Keeka;
+import keeka.backend.TaskList;
+import keeka.tasks.Task;
+
+/**
+ * Shows the tasks matching a {@code find} command while it is still being typed.
+ * A query starts only once typing has paused for {@value #DEBOUNCE_MILLIS} ms, so a burst of
+ * keystrokes runs a single search. Each new keystroke cancels the query in flight,
+ * interrupting its scan, and results of a stale query that were already posted are dropped.
+ *
+ * <p>Queries run on the command thread like every other command, and their matches arrive in
+ * batches of {@value TaskList#SEARCH_BATCH_SIZE} that are appended to the results as they come.
+ */
+public class LiveSearch {
+    private static final String PREFIX = "find ";
+    private static final int DEBOUNCE_MILLIS = 150;
+    private static final int MAX_RESULTS = 500;
+
+    private final TextField input;
+    private final ListView<String> resultsView;
+    private final Label placeholder;
+    private final Executor executor;
+    private final PauseTransition debounce;
+    private Keeka keeka;
+    private FutureTask<Integer> runningQuery;
+    private int generation;
+
+    /**
+     * Constructs a LiveSearch that follows what is typed into the input.
+     *
+     * @param input The field the user types commands into.
+     * @param resultsView The list that shows the matching tasks, hidden while there is no query.
+     * @param executor The executor that runs commands, on which queries are run too.
+     */
+    public LiveSearch(TextField input, ListView<String> resultsView, Executor executor) {
+        this.input = input;
+        this.resultsView = resultsView;
+        this.placeholder = new Label();
+        this.executor = executor;
+        this.debounce = new PauseTransition(Duration.millis(DEBOUNCE_MILLIS));
+
+        resultsView.setPlaceholder(placeholder);
+        debounce.setOnFinished(event -> startQuery());
+        input.textProperty().addListener((observable, oldText, newText) -> handleTextChanged(newText));
+    }
+
+    /**
+     * Connects the search to the backend. Nothing is searched before this is called.
+     *
+     * @param keeka The application whose tasks are searched.
+     */
+    public void setKeeka(Keeka keeka) {
+        this.keeka = keeka;
+    }
+
+    private void handleTextChanged(String text) {
+        cancelQuery();
+        if (keeka == null || extractKeyword(text).isEmpty()) {
+            debounce.stop();
+            resultsView.setVisible(false);
+            return;
+        }
+        debounce.playFromStart();
+    }
+
+    private void startQuery() {
+        String keyword = extractKeyword(input.getText());
+        if (keyword.isEmpty()) {
+            return;
+        }
+
+        cancelQuery();
+        int queryGeneration = generation;
+        resultsView.getItems().clear();
+        placeholder.setText("Searching...");
+        resultsView.setVisible(true);
+
+        runningQuery = new FutureTask<>(() -> {
+            int found = keeka.findTasks(keyword, MAX_RESULTS, batch -> showBatch(queryGeneration, describe(batch)));
+            Platform.runLater(() -> finishQuery(queryGeneration, found));
+            return found;
+        });
+        executor.execute(runningQuery);
+    }
+
+    /**
+     * Cancels the query in flight, and makes sure none of its results are shown
+     * by moving on to the next generation of queries.
+     */
+    private void cancelQuery() {
+        generation++;
+        if (runningQuery != null) {
+            runningQuery.cancel(true);
+            runningQuery = null;
+        }
+    }
+
+    private void showBatch(int queryGeneration, List<String> lines) {
+        Platform.runLater(() -> {
+            if (queryGeneration == generation) {
+                resultsView.getItems().addAll(lines);
+            }
+        });
+    }
+
+    private void finishQuery(int queryGeneration, int found) {
+        if (queryGeneration != generation) {
+            return;
+        }
+        placeholder.setText("No matching tasks");
+        if (found == MAX_RESULTS) {
+            resultsView.getItems().add("... showing the first " + MAX_RESULTS + " matches");
+        }
+    }
+
+    /**
+     * Turns matching tasks into result lines on the command thread, while no command can change them.
+     */
+    private static List<String> describe(List<Task> tasks) {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            lines.add(task + " (#" + task.getId() + ")");
+        }
+        return lines;
+    }
+
+    private static String extractKeyword(String text) {
+        return text.startsWith(PREFIX) ? text.substring(PREFIX.length()).trim() : "";
+    }
+}
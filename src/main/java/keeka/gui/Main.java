@@ -15,6 +15,7 @@ import keeka.backend.Keeka;
 public class Main extends Application {
 
     private Keeka keeka = new Keeka();
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -28,7 +29,8 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setTitle("Keeka Task Manager");
             System.out.println("Setting Keeka instance to controller...");
-            fxmlLoader.<MainWindow>getController().setKeeka(keeka);
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setKeeka(keeka);
             System.out.println("Showing stage...");
             stage.show();
             System.out.println("JavaFX application started successfully!");
@@ -46,4 +48,15 @@ public class Main extends Application {
             keeka.run();
         }
     }
+
+    /**
+     * Closes the backend when the application exits, including when the window is closed
+     * without the exit command, so that queued records are not lost.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
@@ -1,96 +1,217 @@
 package keeka.gui;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
-import keeka.backend.*;
+import keeka.backend.Keeka;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Controller for the main GUI.
+ * The conversation is shown in a virtualized list view, so only the messages that are
+ * visible have nodes, and only the most recent {@value #MAX_HISTORY} messages are kept.
+ *
+ * <p>Commands run one at a time on a background thread, so the window stays responsive while
+ * a command searches or rewrites a large list. Results are posted back to the JavaFX thread.
+ * While commands are pending a busy indicator is shown, and read-only commands such as
+ * {@code find} can be cancelled.
+ *
+ * <p>The window uses the backend of the {@link Keeka} instance it is given. The greeting is
+ * shown at once and the saved tasks are loaded on the command thread, so commands entered
+ * while loading are queued behind it. The task browser tab follows the task list from the
+ * start, so it fills up as tasks are loaded. Matches of a {@code find} command are shown
+ * while it is typed by a {@link LiveSearch}.
  */
 public class MainWindow extends AnchorPane {
+    private static final int MAX_HISTORY = 500;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> conversationView;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private Button cancelButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
+    @FXML
+    private TaskBrowser taskBrowser;
+    @FXML
+    private ListView<String> searchResultsView;
 
     private Keeka keeka;
+    private LiveSearch liveSearch;
     private Image userImage = new Image(Objects.requireNonNull(this.getClass().getResourceAsStream("/images/DaUser.png")));
     private Image dukeImage = new Image(Objects.requireNonNull(this.getClass().getResourceAsStream("/images/DaDuke.png")));
-    
-    // Core components using new architecture
-    private TaskList taskList;
-    private Storage storage;
-    private Parser parser;
-    private Ui ui;
-    private CommandHandler commandHandler;
-    private TaskLoader taskLoader;
-    private Interpreter interpreter;
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final List<CommandTask> pendingCommands = new ArrayList<>();
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "keeka-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        
-        // Initialize the new architecture components
-        initializeComponents();
-        
-        // Load tasks and show greeting
-        interpreter.start();
-        String greeting = ui.getLatestMessage();
-        dialogContainer.getChildren().add(
-                DialogBox.getDukeDialog(greeting, dukeImage)
-        );
-    }
-
-    private void initializeComponents() {
-        taskList = new TaskList();
-        storage = new Storage("src/main/java/keeka/backend/List.txt");
-        parser = new Parser();
-        ui = new Ui();
-        commandHandler = new CommandHandler(taskList, storage, parser, ui);
-        taskLoader = new TaskLoader(taskList, storage, parser);
-        interpreter = new Interpreter(commandHandler, taskLoader, ui);
+        conversationView.setItems(messages);
+        conversationView.setCellFactory(view -> new DialogCell(userImage, dukeImage));
+        liveSearch = new LiveSearch(userInput, searchResultsView, commandExecutor);
     }
 
+    /**
+     * Connects the window to the application backend, shows the greeting and starts
+     * loading the saved tasks in the background.
+     *
+     * @param keeka The application whose task list and storage the window works on.
+     */
     public void setKeeka(Keeka keeka) {
         this.keeka = keeka;
+        keeka.addTaskListListener(taskBrowser);
+        liveSearch.setKeeka(keeka);
+        showMessages(ChatMessage.fromKeeka(keeka.greet()));
+        submitCommand(new CommandTask("load", keeka::loadTasks, false, false));
     }
 
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        userInput.clear();
+        showMessages(ChatMessage.fromUser(input));
 
         if (Objects.equals(input.trim(), "bye")) {
-            ui.showGoodbye();
-            String response = ui.getLatestMessage();
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getDukeDialog(response, dukeImage)
-            );
-            userInput.clear();
-            Platform.exit();
+            submitCommand(new CommandTask(input, () -> {
+                String response = keeka.getResponse(input);
+                keeka.close();
+                return response;
+            }, true, false));
             return;
         }
+        submitCommand(new CommandTask(input, () -> keeka.getResponse(input), false, keeka.isCancellable(input)));
+    }
 
-        // Process command through interpreter
-        interpreter.processCommand(input);
-        String response = ui.getLatestMessage();
-        
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
-        userInput.clear();
+    /**
+     * Cancels pending read-only commands, closes the backend on the command thread once the
+     * remaining queued commands have run and waits for it, so records that are not committed yet
+     * reach the file when the window is closed. Does nothing if the exit command already closed it.
+     */
+    public void shutdown() {
+        if (commandExecutor.isShutdown()) {
+            return;
+        }
+        handleCancel();
+        if (keeka != null) {
+            Future<?> closing = commandExecutor.submit(keeka::close);
+            try {
+                closing.get();
+            } catch (ExecutionException e) {
+                System.err.println("Failed to close storage: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        commandExecutor.shutdown();
+    }
+
+    /**
+     * Cancels every pending command that only reads the task list,
+     * interrupting the one that is currently running.
+     */
+    @FXML
+    private void handleCancel() {
+        for (CommandTask command : new ArrayList<>(pendingCommands)) {
+            if (command.isCancellable) {
+                command.cancel(true);
+            }
+        }
+    }
+
+    private void submitCommand(CommandTask command) {
+        pendingCommands.add(command);
+        updateBusyState();
+        commandExecutor.execute(command);
+    }
+
+    /**
+     * Shows the outcome of a command once it has finished, been cancelled or failed.
+     * Always runs on the JavaFX thread.
+     */
+    private void finishCommand(CommandTask command) {
+        pendingCommands.remove(command);
+        updateBusyState();
+
+        try {
+            showMessages(ChatMessage.fromKeeka(command.get()));
+        } catch (CancellationException e) {
+            showMessages(ChatMessage.fromKeeka("Command cancelled: " + command.input));
+        } catch (ExecutionException e) {
+            showMessages(ChatMessage.fromKeeka("Error: " + e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (command.isExit) {
+            commandExecutor.shutdown();
+            Platform.exit();
+        }
+    }
+
+    private void updateBusyState() {
+        boolean isBusy = !pendingCommands.isEmpty();
+        boolean canCancel = pendingCommands.stream().anyMatch(command -> command.isCancellable);
+        busyIndicator.setVisible(isBusy);
+        cancelButton.setVisible(canCancel);
+        sendButton.setVisible(!canCancel);
+    }
+
+    /**
+     * Appends messages to the conversation, drops the oldest ones beyond the history limit
+     * and scrolls to the newest message.
+     */
+    private void showMessages(ChatMessage... added) {
+        messages.addAll(added);
+        if (messages.size() > MAX_HISTORY) {
+            messages.remove(0, messages.size() - MAX_HISTORY);
+        }
+        conversationView.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * A unit of work that runs on the command thread and reports its response back to the window.
+     * The application quits once the exit command has finished.
+     */
+    private class CommandTask extends FutureTask<String> {
+        private final String input;
+        private final boolean isExit;
+        private final boolean isCancellable;
+
+        private CommandTask(String input, Callable<String> action, boolean isExit, boolean isCancellable) {
+            super(action);
+            this.input = input;
+            this.isExit = isExit;
+            this.isCancellable = isCancellable;
+        }
+
+        @Override
+        protected void done() {
+            Platform.runLater(() -> finishCommand(this));
+        }
     }
 }
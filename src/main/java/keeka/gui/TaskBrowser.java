@@ -0,0 +1,178 @@
+package keeka.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import keeka.backend.TaskListListener;
+import keeka.tasks.Task;
+
+/**
+ * Table of every task with a filter field above it.
+ * The table is virtualized, so only the visible rows have cells however many tasks there are.
+ * Rows can be sorted by clicking a column header and narrowed down by typing into the filter.
+ *
+ * <p>The browser follows the task list as a {@link TaskListListener}. Changes arrive on the
+ * command thread as row snapshots, are queued, and are applied on the JavaFX thread in
+ * batches, so loading a large list posts a handful of updates rather than one per task.
+ * Each change touches only the affected row.
+ */
+public class TaskBrowser extends VBox implements TaskListListener {
+    private static final double ROW_HEIGHT = 24.0;
+
+    private final ObservableList<TaskRow> rows = FXCollections.observableArrayList();
+    private final FilteredList<TaskRow> filteredRows = new FilteredList<>(rows);
+    private final SortedList<TaskRow> sortedRows = new SortedList<>(filteredRows);
+    private final Queue<Change> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isUpdateScheduled = new AtomicBoolean();
+    private final TextField filterField = new TextField();
+    private final TableView<TaskRow> table = new TableView<>(sortedRows);
+    private final Label countLabel = new Label();
+
+    /**
+     * Constructs an empty TaskBrowser.
+     */
+    public TaskBrowser() {
+        filterField.setPromptText("Filter tasks");
+        filterField.textProperty().addListener((observable, oldText, newText) -> applyFilter(newText));
+
+        table.getColumns().add(column("#", 50, TaskRow::getId));
+        table.getColumns().add(column("Type", 70, TaskRow::getType));
+        table.getColumns().add(column("Status", 65, TaskRow::getStatus));
+        table.getColumns().add(column("Description", 200, TaskRow::getDescription));
+        table.getColumns().add(column("Date", 150, TaskRow::getDate));
+        table.setFixedCellSize(ROW_HEIGHT);
+        table.setPlaceholder(new Label("No tasks"));
+        sortedRows.comparatorProperty().bind(table.comparatorProperty());
+
+        setSpacing(5);
+        setPadding(new Insets(5));
+        VBox.setVgrow(table, Priority.ALWAYS);
+        getChildren().addAll(filterField, table, countLabel);
+        updateCount();
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        enqueue(new Change(Change.Kind.ADDED, TaskRow.of(task)));
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        enqueue(new Change(Change.Kind.CHANGED, TaskRow.of(task)));
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        enqueue(new Change(Change.Kind.REMOVED, TaskRow.of(task)));
+    }
+
+    private static <T> TableColumn<TaskRow, T> column(String title, double width, Function<TaskRow, T> value) {
+        TableColumn<TaskRow, T> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    /**
+     * Queues a change and makes sure the JavaFX thread will apply it. The flag is cleared
+     * before the queue is drained, so a change queued during a drain always gets applied.
+     */
+    private void enqueue(Change change) {
+        pendingChanges.add(change);
+        if (isUpdateScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyChanges);
+        }
+    }
+
+    /**
+     * Applies every queued change in order, adding runs of new tasks in one step.
+     * Always runs on the JavaFX thread.
+     */
+    private void applyChanges() {
+        isUpdateScheduled.set(false);
+        List<TaskRow> added = new ArrayList<>();
+        Change change;
+        while ((change = pendingChanges.poll()) != null) {
+            if (change.kind == Change.Kind.ADDED) {
+                added.add(change.row);
+                continue;
+            }
+            rows.addAll(added);
+            added.clear();
+
+            int position = positionOf(change.row.getId());
+            if (position < 0) {
+                continue;
+            }
+            if (change.kind == Change.Kind.CHANGED) {
+                rows.set(position, change.row);
+            } else {
+                rows.remove(position);
+            }
+        }
+        rows.addAll(added);
+        updateCount();
+    }
+
+    /**
+     * Finds a row by binary search, relying on rows being kept in ID order like the task list.
+     */
+    private int positionOf(int id) {
+        int low = 0;
+        int high = rows.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = rows.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private void applyFilter(String query) {
+        String trimmed = query.trim();
+        filteredRows.setPredicate(trimmed.isEmpty() ? null : row -> row.matches(trimmed));
+        updateCount();
+    }
+
+    private void updateCount() {
+        countLabel.setText("Showing " + filteredRows.size() + " of " + rows.size() + " task(s)");
+    }
+
+    /**
+     * A change to one task, waiting to be applied to the table.
+     */
+    private static class Change {
+        private enum Kind { ADDED, CHANGED, REMOVED }
+
+        private final Kind kind;
+        private final TaskRow row;
+
+        private Change(Kind kind, TaskRow row) {
+            this.kind = kind;
+            this.row = row;
+        }
+    }
+}
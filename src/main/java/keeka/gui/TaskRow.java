@@ -0,0 +1,98 @@
+package keeka.gui;
+
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+/**
+ * An immutable snapshot of a task as shown in one row of the task table.
+ * Rows are taken on the command thread when a task changes and handed to the JavaFX thread,
+ * so the table never reads a task while a command is changing it.
+ *
+ * <p>Dates are kept in ISO form, which sorts in time order as plain text, with an event
+ * sorting by its start.
+ */
+public class TaskRow {
+    private final int id;
+    private final String type;
+    private final boolean isDone;
+    private final String description;
+    private final String date;
+
+    private TaskRow(int id, String type, boolean isDone, String description, String date) {
+        this.id = id;
+        this.type = type;
+        this.isDone = isDone;
+        this.description = description;
+        this.date = date;
+    }
+
+    /**
+     * Takes a snapshot of a task.
+     *
+     * @param task The task to show.
+     * @return A row holding the current state of the task.
+     */
+    public static TaskRow of(Task task) {
+        if (task instanceof Deadline deadline) {
+            String due = deadline.getDateTime() != null
+                    ? deadline.getDateTime().toString()
+                    : deadline.getDate().toString();
+            return new TaskRow(task.getId(), "Deadline", task.isDone(), task.getDescription(), due);
+        } else if (task instanceof Event event) {
+            String period = event.getStartDateTime() != null
+                    ? event.getStartDateTime() + " to " + event.getEndDateTime()
+                    : event.getStartDate() + " to " + event.getEndDate();
+            return new TaskRow(task.getId(), "Event", task.isDone(), task.getDescription(), period);
+        }
+        return new TaskRow(task.getId(), "Todo", task.isDone(), task.getDescription(), "");
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    public String getStatus() {
+        return isDone ? "Done" : "Pending";
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * Checks whether the description, type, status or date of the row contains the query, ignoring case.
+     *
+     * @param query The text typed into the filter.
+     * @return True if any shown column contains the query, false otherwise.
+     */
+    public boolean matches(String query) {
+        return containsIgnoreCase(description, query) || containsIgnoreCase(type, query)
+                || containsIgnoreCase(getStatus(), query) || containsIgnoreCase(date, query);
+    }
+
+    /**
+     * Searches for the query without lower-casing either string, so filtering a large
+     * table does not allocate a copy of every description.
+     */
+    private static boolean containsIgnoreCase(String text, String query) {
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,12 +3,21 @@ package keeka.tasks;
 public abstract class Task {
     protected String description;
     protected boolean isDone;
+    private int id;
 
     public Task(String description, boolean isDone) {
         this.description = description;
         this.isDone = isDone;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getDescription() {
         return description;
     }
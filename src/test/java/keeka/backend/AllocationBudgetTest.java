@@ -0,0 +1,139 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import com.sun.management.ThreadMXBean;
+import keeka.tasks.Task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the bytes allocated per operation on the hot command paths against the budgets
+ * checked in as {@code allocation-budgets.properties}, so that a change producing much more
+ * garbage fails the build. Each path is warmed up first so that it runs compiled.
+ */
+public class AllocationBudgetTest {
+    
+    private static final int TASK_COUNT = 1000;
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int MEASURED_ITERATIONS = 5000;
+    
+    private Properties budgets;
+    private Path saveFile;
+    private Storage storage;
+    private TaskList taskList;
+    private Interpreter interpreter;
+    private PrintStream originalOut;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("allocation-budgets.properties")) {
+            assertNotNull(in, "Allocation budgets should be on the test classpath");
+            budgets.load(in);
+        }
+        
+        saveFile = Files.createTempFile("keeka-allocation", MappedStorage.FILE_EXTENSION);
+        Files.delete(saveFile);
+        storage = new MappedStorage(saveFile.toString());
+        taskList = new TaskList();
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            taskList.addTask(TaskFactory.createToDo("read book " + i, false));
+        }
+        storage.updateAllTasks(taskList.getAllTasks());
+        
+        Parser parser = new Parser();
+        Ui ui = new Ui();
+        CommandHandler commandHandler = new CommandHandler(taskList, storage, parser);
+        interpreter = new Interpreter(commandHandler, new TaskLoader(taskList, storage, parser), ui);
+        
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        storage.close();
+        Files.deleteIfExists(saveFile);
+    }
+    
+    @Test
+    public void testProcessCommand_MarkAndUnmark() {
+        int[] count = {0};
+        assertWithinBudget("processCommand.mark", () -> {
+            interpreter.processCommand(count[0]++ % 2 == 0 ? "mark 500" : "unmark 500");
+        });
+    }
+    
+    @Test
+    public void testProcessCommand_Find() {
+        assertWithinBudget("processCommand.find", () -> interpreter.processCommand("find book 42"));
+    }
+    
+    @Test
+    public void testDecode_ToDoLine() {
+        SaveLineDecoder decoder = new SaveLineDecoder();
+        assertWithinBudget("decode.todo", () -> decoder.decode("12. [T][X] read book. then sleep"));
+    }
+    
+    @Test
+    public void testDecode_EventLine() {
+        SaveLineDecoder decoder = new SaveLineDecoder();
+        assertWithinBudget("decode.event",
+                () -> decoder.decode("10. [E][ ] board meeting (from: 2025-09-05T09:00 to: 2025-09-05T11:30)"));
+    }
+    
+    @Test
+    public void testEncode_EventLine() {
+        Task event = TaskFactory.createEvent("board meeting", false,
+                LocalDateTime.of(2025, 9, 5, 9, 0), LocalDateTime.of(2025, 9, 5, 11, 30));
+        StringBuilder line = new StringBuilder(128);
+        assertWithinBudget("encode.event", () -> {
+            line.setLength(0);
+            TextTaskCodec.INSTANCE.encode(event, 10, line);
+        });
+    }
+    
+    @Test
+    public void testFindTasks() {
+        assertWithinBudget("taskList.findTasks", () -> taskList.findTasks("book 42"));
+    }
+    
+    /**
+     * Runs the operation until it is compiled, then fails if it allocates more bytes
+     * per run on average than its budget allows.
+     */
+    private void assertWithinBudget(String name, Runnable operation) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        String budget = budgets.getProperty(name);
+        assertNotNull(budget, "No allocation budget for " + name);
+        
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        long bytesPerRun = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+        
+        assertTrue(bytesPerRun <= Long.parseLong(budget.trim()),
+                name + " allocated " + bytesPerRun + " bytes per run, over its budget of " + budget);
+    }
+}
@@ -22,10 +22,10 @@ public class CommandHandlerTest {
     @BeforeEach
     public void setUp() {
         taskList = new TaskList();
-        storage = new Storage("test_list.txt");
+        storage = new TextStorage("test_list.txt");
         parser = new Parser();
         ui = new Ui();
-        commandHandler = new CommandHandler(taskList, storage, parser, ui);
+        commandHandler = new CommandHandler(taskList, storage, parser);
         
         outputStream = new ByteArrayOutputStream();
         originalOut = System.out;
@@ -39,84 +39,225 @@ public class CommandHandlerTest {
     
     @Test
     public void testHandleTodoCommand_ValidInput() {
-        commandHandler.handleTodoCommand("read book");
+        ui.show(commandHandler.handleTodoCommand("read book"));
         assertEquals(1, taskList.size());
         assertEquals("read book", taskList.getTask(0).getDescription());
     }
     
     @Test
     public void testHandleTodoCommand_EmptyInput() {
-        commandHandler.handleTodoCommand("");
+        ui.show(commandHandler.handleTodoCommand(""));
         assertEquals(0, taskList.size());
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Invalid task invocation!"));
     }
     
     @Test
     public void testHandleDeadlineCommand_ValidInput() {
-        commandHandler.handleDeadlineCommand("submit assignment /by 2024-12-31");
+        ui.show(commandHandler.handleDeadlineCommand("submit assignment /by 2024-12-31"));
         assertEquals(1, taskList.size());
         assertEquals("submit assignment", taskList.getTask(0).getDescription());
     }
     
+    @Test
+    public void testHandleDeadlineCommand_SlashInDescription() {
+        ui.show(commandHandler.handleDeadlineCommand("read docs /usr/share /by 2024-01-01"));
+        assertEquals(1, taskList.size());
+        assertEquals("read docs /usr/share", taskList.getTask(0).getDescription());
+    }
+    
     @Test
     public void testHandleDeadlineCommand_InvalidInput() {
-        commandHandler.handleDeadlineCommand("submit assignment");
+        ui.show(commandHandler.handleDeadlineCommand("submit assignment"));
         assertEquals(0, taskList.size());
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Invalid task invocation!"));
     }
     
     @Test
     public void testHandleEventCommand_ValidInput() {
-        commandHandler.handleEventCommand("meeting /from 2024-12-31 /to 2025-01-01");
+        ui.show(commandHandler.handleEventCommand("meeting /from 2024-12-31 /to 2025-01-01"));
         assertEquals(1, taskList.size());
         assertEquals("meeting", taskList.getTask(0).getDescription());
     }
     
     @Test
     public void testHandleEventCommand_InvalidInput() {
-        commandHandler.handleEventCommand("meeting /from 2024-12-31");
+        ui.show(commandHandler.handleEventCommand("meeting /from 2024-12-31"));
         assertEquals(0, taskList.size());
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Invalid task invocation!"));
     }
     
     @Test
     public void testHandleMarkCommand() {
         taskList.addTask(TaskFactory.createToDo("test task", false));
-        commandHandler.handleMarkCommand("mark 1");
+        ui.show(commandHandler.handleMarkCommand("mark 1"));
         assertTrue(taskList.getTask(0).isDone());
     }
     
     @Test
     public void testHandleUnmarkCommand() {
         taskList.addTask(TaskFactory.createToDo("test task", true));
-        commandHandler.handleUnmarkCommand("unmark 1");
+        ui.show(commandHandler.handleUnmarkCommand("unmark 1"));
         assertFalse(taskList.getTask(0).isDone());
     }
     
     @Test
     public void testHandleDeleteCommand() {
         taskList.addTask(TaskFactory.createToDo("test task", false));
-        commandHandler.handleDeleteCommand("delete 1");
+        ui.show(commandHandler.handleDeleteCommand("delete 1"));
         assertEquals(0, taskList.size());
     }
     
+    @Test
+    public void testHandleDeleteCommand_ById() {
+        taskList.addTask(TaskFactory.createToDo("first", false));
+        taskList.addTask(TaskFactory.createToDo("second", false));
+        taskList.addTask(TaskFactory.createToDo("third", false));
+        ui.show(commandHandler.handleDeleteCommand("delete #1"));
+        ui.show(commandHandler.handleMarkCommand("mark #3"));
+        
+        assertEquals(2, taskList.size());
+        assertEquals("second", taskList.getTask(0).getDescription());
+        assertTrue(taskList.getTaskById(3).isDone());
+    }
+    
+    @Test
+    public void testHandleMarkCommand_UnknownId() {
+        taskList.addTask(TaskFactory.createToDo("test task", false));
+        ui.show(commandHandler.handleMarkCommand("mark #9"));
+        assertFalse(taskList.getTask(0).isDone());
+        assertTrue(output().contains("Invalid task index"));
+    }
+    
+    @Test
+    public void testHandleMarkCommand_ReturnsTypedResult() {
+        taskList.addTask(TaskFactory.createToDo("test task", false));
+        CommandResult result = commandHandler.handleMarkCommand("mark 1");
+        assertSame(taskList.getTask(0), assertInstanceOf(CommandResult.TaskMarked.class, result).getTask());
+        
+        result = commandHandler.handleMarkCommand("mark #9");
+        assertEquals(CommandResult.Error.Code.TASK_NOT_FOUND,
+                assertInstanceOf(CommandResult.Error.class, result).getCode());
+        assertEquals("", output());
+    }
+    
     @Test
     public void testHandleFindCommand() {
         taskList.addTask(TaskFactory.createToDo("read book", false));
         taskList.addTask(TaskFactory.createToDo("write code", false));
-        assertDoesNotThrow(() -> commandHandler.handleFindCommand("find book"));
-        String output = outputStream.toString();
+        assertDoesNotThrow(() -> ui.show(commandHandler.handleFindCommand("find book")));
+        String output = output();
         assertTrue(output.contains("read book"));
     }
     
+    @Test
+    public void testHandleFindCommand_MissingKeyword() {
+        taskList.addTask(TaskFactory.createToDo("read book", false));
+        CommandResult result = commandHandler.handleFindCommand("find   ");
+        assertEquals(CommandResult.Error.Code.INVALID_INPUT,
+                assertInstanceOf(CommandResult.Error.class, result).getCode());
+    }
+    
+    @Test
+    public void testHandleFindCommand_ReturnsMatches() {
+        taskList.addTask(TaskFactory.createToDo("read book", false));
+        taskList.addTask(TaskFactory.createToDo("write code", false));
+        taskList.addTask(TaskFactory.createToDo("book flight", false));
+        CommandResult result = commandHandler.handleFindCommand("find book");
+        
+        CommandResult.TasksFound found = assertInstanceOf(CommandResult.TasksFound.class, result);
+        assertEquals(2, found.getCount());
+        assertEquals("book flight", found.getTasks().get(1).getDescription());
+        assertThrows(UnsupportedOperationException.class, () -> found.getTasks().clear());
+    }
+    
+    @Test
+    public void testHandleAgendaCommand() {
+        ui.show(commandHandler.handleDeadlineCommand("report /by 2025-03-15"));
+        ui.show(commandHandler.handleEventCommand("trip /from 2025-03-05 /to 2025-03-08"));
+        ui.show(commandHandler.handleDeadlineCommand("taxes /by 2025-04-15"));
+        ui.show(commandHandler.handleAgendaCommand("2025-03"));
+        
+        String output = ui.getLatestMessage();
+        assertTrue(output.contains("1. [E][ ] trip"));
+        assertTrue(output.contains("2. [D][ ] report"));
+        assertFalse(output.contains("taxes"));
+    }
+    
+    @Test
+    public void testHandleEventCommand_WarnsAboutOverlap() {
+        ui.show(commandHandler.handleEventCommand("workshop /from 2025-03-05T09:00 /to 2025-03-05T12:00"));
+        ui.show(commandHandler.handleEventCommand("lunch /from 2025-03-05T11:30 /to 2025-03-05T13:00"));
+        assertTrue(ui.getLatestMessage().contains("Warning: this event overlaps with:\n1. [E][ ] workshop"));
+        
+        ui.show(commandHandler.handleEventCommand("dinner /from 2025-03-05T18:00 /to 2025-03-05T19:00"));
+        assertFalse(ui.getLatestMessage().contains("Warning"));
+    }
+    
+    @Test
+    public void testHandleFreeCommand() {
+        ui.show(commandHandler.handleEventCommand("workshop /from 2025-03-05T09:00 /to 2025-03-05T12:00"));
+        ui.show(commandHandler.handleEventCommand("lunch /from 2025-03-05T11:30 /to 2025-03-05T13:00"));
+        ui.show(commandHandler.handleEventCommand("trip /from 2025-03-04 /to 2025-03-04"));
+        ui.show(commandHandler.handleFreeCommand("2025-03-05"));
+        
+        String output = ui.getLatestMessage();
+        assertTrue(output.contains("00:00 - 09:00\n13:00 - 24:00"));
+        
+        ui.show(commandHandler.handleFreeCommand("2025-03-04"));
+        assertTrue(ui.getLatestMessage().contains("No free time on 2025-03-04!"));
+    }
+    
+    @Test
+    public void testHandleDueCommand_InvalidInput() {
+        ui.show(commandHandler.handleDueCommand("after 2025-03-15"));
+        assertTrue(ui.getLatestMessage().contains("Invalid due query!"));
+    }
+    
     @Test
     public void testHandleListCommand() {
         taskList.addTask(TaskFactory.createToDo("test task", false));
-        commandHandler.handleListCommand();
-        String output = outputStream.toString();
+        ui.show(commandHandler.handleListCommand());
+        String output = output();
         assertTrue(output.contains("Displaying list items"));
     }
+    
+    @Test
+    public void testHandleListCommand_Pages() {
+        commandHandler = new CommandHandler(taskList, storage, parser, 2);
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(TaskFactory.createToDo("task " + i, false));
+        }
+        
+        ui.show(commandHandler.handleListCommand(""));
+        assertTrue(ui.getLatestMessage().startsWith("Displaying list items 1-2 of 5\n1. [T][ ] task 1"));
+        assertTrue(ui.getLatestMessage().endsWith("3 more task(s). Use list page <n> or list <from>-<to> to see them"));
+        
+        ui.show(commandHandler.handleListCommand("page 3"));
+        assertEquals("Displaying list items 5-5 of 5\n5. [T][ ] task 5 (#5)\n", ui.getLatestMessage());
+        
+        ui.show(commandHandler.handleListCommand("2-4"));
+        assertTrue(ui.getLatestMessage().startsWith("Displaying list items 2-4 of 5\n2. [T][ ] task 2"));
+        assertFalse(ui.getLatestMessage().contains("task 5"));
+        
+        ui.show(commandHandler.handleListCommand("4-99"));
+        assertTrue(ui.getLatestMessage().startsWith("Displaying list items 4-5 of 5\n"));
+    }
+    
+    @Test
+    public void testHandleListCommand_InvalidRange() {
+        taskList.addTask(TaskFactory.createToDo("test task", false));
+        ui.show(commandHandler.handleListCommand("page 2"));
+        assertEquals("Error: There are only 1 task(s) in the list!", ui.getLatestMessage());
+        
+        ui.show(commandHandler.handleListCommand("everything"));
+        assertTrue(ui.getLatestMessage().startsWith("Error: Invalid list query!"));
+    }
+    
+    private String output() {
+        ui.flush();
+        return outputStream.toString();
+    }
 }
@@ -0,0 +1,102 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandLineTest {
+    
+    private CommandLine line;
+    
+    @BeforeEach
+    public void setUp() {
+        line = new CommandLine();
+    }
+    
+    @Test
+    public void testTokenize_CommandAndArguments() {
+        line.tokenize("  MARK  #3 extra  ");
+        assertEquals("mark", line.getCommand());
+        assertEquals("#3 extra", line.getArguments());
+        assertEquals("#3", line.getFirstArgument());
+        assertEquals("#3 extra", line.getTextBeforeFlags());
+    }
+    
+    @Test
+    public void testTokenize_BlankInput() {
+        line.tokenize("   ");
+        assertEquals("", line.getCommand());
+        assertEquals("", line.getArguments());
+        assertEquals("", line.getFirstArgument());
+        assertNull(line.getFlagValue("/by"));
+    }
+    
+    @Test
+    public void testTokenize_Flags() {
+        line.tokenize("event board meeting /from 2025-09-05T09:00  /to 2025-09-05T11:30 ");
+        assertEquals("board meeting", line.getTextBeforeFlags());
+        assertEquals("2025-09-05T09:00", line.getFlagValue("/from"));
+        assertEquals("2025-09-05T11:30", line.getFlagValue("/to"));
+        assertNull(line.getFlagValue("/by"));
+        assertNull(line.getFlagValue("/t"));
+    }
+    
+    @Test
+    public void testTokenize_SlashesThatAreNotFlags() {
+        line.tokenize("deadline /by read a/b /by");
+        assertEquals("/by read a/b", line.getTextBeforeFlags());
+        assertEquals("", line.getFlagValue("/by"));
+    }
+    
+    @Test
+    public void testTokenize_OnlyFlagsOfTheCommand() {
+        line.tokenize("deadline read docs /usr/share /by 2024-01-01");
+        assertEquals("read docs /usr/share", line.getTextBeforeFlags());
+        assertEquals("2024-01-01", line.getFlagValue("/by"));
+        assertNull(line.getFlagValue("/usr"));
+
+        line.tokenize("event lecture /by the river /from 2025-09-05 /to 2025-09-06");
+        assertEquals("lecture /by the river", line.getTextBeforeFlags());
+        assertNull(line.getFlagValue("/by"));
+        assertEquals("2025-09-05", line.getFlagValue("/from"));
+
+        line.tokenize("todo compare /by and /from");
+        assertEquals("compare /by and /from", line.getTextBeforeFlags());
+        assertNull(line.getFlagValue("/by"));
+    }
+    
+    @Test
+    public void testTokenize_ArgumentWords() {
+        line.tokenize("update  #2 description   new   text ");
+        assertEquals(4, line.getArgumentCount());
+        assertEquals("#2", line.getArgument(0));
+        assertEquals("description", line.getArgument(1));
+        assertEquals("new   text", line.getArgumentsFrom(2));
+        assertEquals("text", line.getArgument(3));
+        assertEquals("text", line.getArgumentsFrom(3));
+
+        line.tokenize("between 2025-03-01");
+        assertEquals(1, line.getArgumentCount());
+        assertEquals("", line.getArgument(1));
+        assertEquals("", line.getArgumentsFrom(1));
+    }
+    
+    @Test
+    public void testTokenizeArguments_NoCommandWord() {
+        line.tokenizeArguments("deadline", "submit report /by 2025-03-15");
+        assertEquals("deadline", line.getCommand());
+        assertEquals("submit", line.getFirstArgument());
+        assertEquals("submit report", line.getTextBeforeFlags());
+        assertEquals("2025-03-15", line.getFlagValue("/by"));
+    }
+    
+    @Test
+    public void testTokenize_ReusedInstanceForgetsPreviousInput() {
+        line.tokenize("deadline report /by 2025-03-15");
+        line.tokenize("todo read book");
+        assertEquals("todo", line.getCommand());
+        assertEquals("read book", line.getTextBeforeFlags());
+        assertNull(line.getFlagValue("/by"));
+    }
+}
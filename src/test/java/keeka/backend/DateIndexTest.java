@@ -0,0 +1,61 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateIndexTest {
+    
+    private DateIndex index;
+    
+    @BeforeEach
+    public void setUp() {
+        index = new DateIndex();
+    }
+    
+    private Task withId(int id, Task task) {
+        task.setId(id);
+        return task;
+    }
+    
+    @Test
+    public void testDeadlinesBefore_OrderedByDueTimeAndSkipsEvents() {
+        index.add(withId(1, TaskFactory.createDeadline("late", false, LocalDate.of(2025, 3, 20))));
+        index.add(withId(2, TaskFactory.createDeadline("early", false, LocalDateTime.of(2025, 3, 10, 9, 0))));
+        index.add(withId(3, TaskFactory.createEvent("meeting", false,
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2))));
+        index.add(withId(4, TaskFactory.createToDo("no date", false)));
+        
+        assertEquals(List.of(2), index.deadlinesBefore(DateIndex.keyOf(LocalDate.of(2025, 3, 20))));
+        assertEquals(List.of(2, 1), index.deadlinesBefore(DateIndex.keyOf(LocalDate.of(2025, 3, 21))));
+    }
+    
+    @Test
+    public void testScheduledBetween_MergesDeadlinesAndEvents() {
+        index.add(withId(1, TaskFactory.createDeadline("report", false, LocalDate.of(2025, 3, 15))));
+        index.add(withId(2, TaskFactory.createEvent("trip", false,
+                LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 8))));
+        index.add(withId(3, TaskFactory.createEvent("talk", false,
+                LocalDateTime.of(2025, 3, 15, 0, 0), LocalDateTime.of(2025, 3, 15, 1, 0))));
+        index.add(withId(4, TaskFactory.createDeadline("april", false, LocalDate.of(2025, 4, 1))));
+        
+        long from = DateIndex.keyOf(LocalDate.of(2025, 3, 1));
+        long to = DateIndex.keyOf(LocalDate.of(2025, 4, 1));
+        assertEquals(List.of(2, 1, 3), index.scheduledBetween(from, to));
+        assertTrue(index.scheduledBetween(to, from).isEmpty());
+    }
+    
+    @Test
+    public void testRemove_DropsTaskFromRange() {
+        Task deadline = withId(1, TaskFactory.createDeadline("report", false, LocalDate.of(2025, 3, 15)));
+        index.add(deadline);
+        index.remove(deadline);
+        assertTrue(index.deadlinesBefore(Long.MAX_VALUE).isEmpty());
+    }
+}
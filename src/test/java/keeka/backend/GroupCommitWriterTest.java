@@ -0,0 +1,88 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupCommitWriterTest {
+    
+    private final Path testPath = Paths.get("test_writer.txt");
+    
+    @AfterEach
+    public void tearDown() {
+        File testFile = testPath.toFile();
+        if (testFile.exists()) {
+            testFile.delete();
+        }
+    }
+    
+    @Test
+    public void testWrite_PerCommandCommitsBeforeReturning() {
+        assertDoesNotThrow(() -> {
+            GroupCommitWriter writer = new GroupCommitWriter(testPath, GroupCommitWriter.Durability.perCommand());
+            writer.write("first");
+            assertEquals(List.of("first"), Files.readAllLines(testPath));
+            writer.close();
+        });
+    }
+    
+    @Test
+    public void testWrite_BatchWaitsForRecordCount() {
+        assertDoesNotThrow(() -> {
+            GroupCommitWriter writer = new GroupCommitWriter(testPath, GroupCommitWriter.Durability.everyRecords(3));
+            writer.write("first");
+            writer.write("second");
+            assertTrue(Files.readAllLines(testPath).isEmpty());
+            
+            writer.flush();
+            assertEquals(List.of("first", "second"), Files.readAllLines(testPath));
+            writer.close();
+        });
+    }
+    
+    @Test
+    public void testClose_DrainsPendingLines() {
+        assertDoesNotThrow(() -> {
+            GroupCommitWriter writer = new GroupCommitWriter(testPath, GroupCommitWriter.Durability.everyMillis(60000));
+            for (int i = 0; i < 100; i++) {
+                writer.write("line " + i);
+            }
+            writer.close();
+            
+            List<String> lines = Files.readAllLines(testPath);
+            assertEquals(100, lines.size());
+            assertEquals("line 99", lines.get(99));
+        });
+    }
+    
+    @Test
+    public void testDurabilityParse() {
+        assertTrue(GroupCommitWriter.Durability.parse("command").isPerCommand());
+        assertEquals(250, GroupCommitWriter.Durability.parse("250ms").getMaxDelayMillis());
+        assertEquals(64, GroupCommitWriter.Durability.parse("64records").getMaxRecords());
+        assertFalse(GroupCommitWriter.Durability.parse("1records").isPerCommand());
+        assertEquals(1, GroupCommitWriter.Durability.parse("1records").getMaxRecords());
+        assertFalse(GroupCommitWriter.Durability.parse("1records+sync").isPerCommand());
+        assertFalse(GroupCommitWriter.Durability.parse("command").isSynced());
+        assertTrue(GroupCommitWriter.Durability.parse("command+sync").isSynced());
+        assertTrue(GroupCommitWriter.Durability.parse("command+sync").isPerCommand());
+        assertEquals(250, GroupCommitWriter.Durability.parse("250ms+sync").getMaxDelayMillis());
+        assertThrows(IllegalArgumentException.class, () -> GroupCommitWriter.Durability.parse("often"));
+    }
+    
+    @Test
+    public void testDurabilityParse_CountBelowOne() {
+        for (String setting : List.of("0ms", "-5records", "0records", "0ms+sync")) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> GroupCommitWriter.Durability.parse(setting));
+            assertTrue(e.getMessage().contains("keeka.durability"), e.getMessage());
+        }
+    }
+}
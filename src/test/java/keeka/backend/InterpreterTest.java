@@ -6,6 +6,13 @@ import org.junit.jupiter.api.AfterEach;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,10 +31,10 @@ public class InterpreterTest {
     @BeforeEach
     public void setUp() {
         taskList = new TaskList();
-        storage = new Storage("test_list.txt");
+        storage = new TextStorage("test_list.txt");
         parser = new Parser();
         ui = new Ui();
-        commandHandler = new CommandHandler(taskList, storage, parser, ui);
+        commandHandler = new CommandHandler(taskList, storage, parser);
         taskLoader = new TaskLoader(taskList, storage, parser);
         interpreter = new Interpreter(commandHandler, taskLoader, ui);
         
@@ -48,6 +55,27 @@ public class InterpreterTest {
         assertTrue(output.contains("Hello! I'm Keeka"));
     }
     
+    @Test
+    public void testExecute_ReturnsResultWithoutOutput() {
+        taskList.addTask(TaskFactory.createToDo("read book", false));
+        CommandResult result = interpreter.execute("find book");
+        assertEquals(1, assertInstanceOf(CommandResult.TasksFound.class, result).getCount());
+        
+        result = interpreter.execute("dance");
+        assertEquals(CommandResult.Error.Code.UNKNOWN_COMMAND,
+                assertInstanceOf(CommandResult.Error.class, result).getCode());
+        ui.flush();
+        assertEquals("", outputStream.toString());
+    }
+    
+    @Test
+    public void testIsCancellable_OnlyReadOnlyCommands() {
+        assertTrue(interpreter.isCancellable("find book"));
+        assertTrue(interpreter.isCancellable("  LIST"));
+        assertFalse(interpreter.isCancellable("delete 1"));
+        assertFalse(interpreter.isCancellable("todo find me"));
+    }
+    
     @Test
     public void testProcessCommand_TodoCommand() {
         assertDoesNotThrow(() -> interpreter.processCommand("todo read book"));
@@ -75,4 +103,39 @@ public class InterpreterTest {
         String output = outputStream.toString();
         assertTrue(output.contains("Unknown command"));
     }
+    
+    @Test
+    public void testProcessCommand_Stats() {
+        Metrics metrics = new Metrics();
+        interpreter = new Interpreter(commandHandler, taskLoader, ui, metrics);
+        interpreter.processCommand("stats");
+        assertEquals("No timings recorded yet!", ui.getLatestMessage());
+        
+        interpreter.processCommand("list");
+        interpreter.processCommand("nonsense");
+        interpreter.processCommand("stats");
+        assertEquals(1, metrics.getHistogram("command.list").getCount());
+        assertEquals(1, metrics.getHistogram("command.unknown").getCount());
+        assertTrue(ui.getLatestMessage().startsWith("Timings so far"));
+        assertTrue(ui.getLatestMessage().contains("command.stats"));
+        assertTrue(interpreter.isCancellable("stats"));
+    }
+    
+    @Test
+    public void testProcessCommand_EmitsCommandEvent() throws Exception {
+        Path recordingPath = Files.createTempFile("keeka", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("keeka.Command");
+            recording.start();
+            interpreter.processCommand("LIST");
+            recording.stop();
+            recording.dump(recordingPath);
+            
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+            assertEquals(1, events.size());
+            assertEquals("list", events.get(0).getString("command"));
+        } finally {
+            Files.deleteIfExists(recordingPath);
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+    
+    private IntervalTree tree;
+    
+    @BeforeEach
+    public void setUp() {
+        tree = new IntervalTree();
+    }
+    
+    private List<Long> ids(List<long[]> intervals) {
+        List<Long> ids = new ArrayList<>();
+        for (long[] interval : intervals) {
+            ids.add(interval[2]);
+        }
+        return ids;
+    }
+    
+    @Test
+    public void testOverlapping_HalfOpenIntervals() {
+        tree.add(10, 20, 1);
+        tree.add(20, 30, 2);
+        tree.add(5, 40, 3);
+        
+        assertEquals(List.of(3L, 1L), ids(tree.overlapping(15, 20)));
+        assertEquals(List.of(3L, 2L), ids(tree.overlapping(20, 21)));
+        assertTrue(tree.overlapping(40, 50).isEmpty());
+    }
+    
+    @Test
+    public void testOverlapping_MatchesBruteForce() {
+        Random random = new Random(7);
+        List<long[]> added = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            long start = random.nextInt(1000);
+            long[] interval = {start, start + 1 + random.nextInt(50), id};
+            tree.add(interval[0], interval[1], id);
+            added.add(interval);
+            if (random.nextInt(4) == 0) {
+                long[] removed = added.remove(random.nextInt(added.size()));
+                tree.remove(removed[0], (int) removed[2]);
+            }
+        }
+        assertEquals(added.size(), tree.size());
+        
+        for (int query = 0; query < 50; query++) {
+            long from = random.nextInt(1000);
+            long to = from + 1 + random.nextInt(100);
+            List<long[]> found = tree.overlapping(from, to);
+            long expected = added.stream().filter(interval -> interval[0] < to && interval[1] > from).count();
+            assertEquals(expected, (long) found.size());
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(found.get(i - 1)[0] <= found.get(i)[0]);
+            }
+        }
+    }
+}
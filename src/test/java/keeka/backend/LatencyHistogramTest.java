@@ -0,0 +1,55 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    
+    private LatencyHistogram histogram;
+    
+    @BeforeEach
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+    
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(0, histogram.getMaxNanos());
+    }
+    
+    @Test
+    public void testSmallValues_AreExact() {
+        for (long nanos = 0; nanos < 8; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(8, histogram.getCount());
+        assertEquals(28, histogram.getTotalNanos());
+        assertEquals(3, histogram.getPercentileNanos(50));
+        assertEquals(7, histogram.getPercentileNanos(100));
+    }
+    
+    @Test
+    public void testPercentiles_WithinOneEighth() {
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        long median = histogram.getPercentileNanos(50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, "median was " + median);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 9 / 8, "p99 was " + p99);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+    }
+    
+    @Test
+    public void testExtremeValues() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(99));
+    }
+}
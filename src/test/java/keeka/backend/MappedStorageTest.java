@@ -0,0 +1,176 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedStorageTest {
+    
+    private MappedStorage storage;
+    private String testFilePath;
+    
+    @BeforeEach
+    public void setUp() {
+        testFilePath = "test_storage.bin";
+        storage = new MappedStorage(testFilePath);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        storage.close();
+        File testFile = new File(testFilePath);
+        if (testFile.exists()) {
+            testFile.delete();
+        }
+    }
+    
+    @Test
+    public void testSaveTask_RoundTripsAllTaskTypes() {
+        storage.saveTask(TaskFactory.createToDo("read book", true), 1);
+        storage.saveTask(TaskFactory.createDeadline("return book", false, LocalDate.of(2024, 12, 31)), 2);
+        storage.saveTask(TaskFactory.createEvent("meeting", false,
+                LocalDateTime.of(2024, 12, 31, 14, 0), LocalDateTime.of(2024, 12, 31, 16, 30)), 3);
+        storage.close();
+        
+        storage = new MappedStorage(testFilePath);
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(3, tasks.size());
+        assertEquals("[T][X] read book", tasks.get(0).toString());
+        assertEquals("[D][ ] return book (by: 2024-12-31)", tasks.get(1).toString());
+        assertEquals("[E][ ] meeting (from: 2024-12-31T14:00 to: 2024-12-31T16:30)", tasks.get(2).toString());
+    }
+    
+    @Test
+    public void testRecordMutation_AppliedInPlace() {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            Task task = TaskFactory.createToDo("task " + i, false);
+            taskList.addTask(task);
+            storage.recordMutation(Mutation.added(task), taskList);
+        }
+        Task replacement = TaskFactory.createToDo("task 3b", false);
+        replacement.setId(3);
+        storage.recordMutation(Mutation.marked(2), taskList);
+        storage.recordMutation(Mutation.deleted(1), taskList);
+        storage.recordMutation(Mutation.replaced(replacement), taskList);
+        storage.close();
+        
+        storage = new MappedStorage(testFilePath);
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] task 2", tasks.get(0).toString());
+        assertEquals("[T][ ] task 3b", tasks.get(1).toString());
+        assertEquals(2, tasks.get(0).getId());
+        assertEquals(3, tasks.get(1).getId());
+    }
+    
+    @Test
+    public void testRecordMutation_LongerReplacementKeepsPosition() {
+        TaskList taskList = new TaskList();
+        storage.saveTask(TaskFactory.createToDo("short", false), 1);
+        storage.saveTask(TaskFactory.createToDo("other", false), 2);
+        Task replacement = TaskFactory.createToDo("a much longer description than before", false);
+        replacement.setId(1);
+        storage.recordMutation(Mutation.replaced(replacement), taskList);
+        storage.close();
+        
+        storage = new MappedStorage(testFilePath);
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("a much longer description than before", tasks.get(0).getDescription());
+        assertEquals("other", tasks.get(1).getDescription());
+        assertEquals(1, tasks.get(0).getId());
+    }
+    
+    @Test
+    public void testRecordMutation_UnknownIdThrowsException() {
+        storage.saveTask(TaskFactory.createToDo("only", false), 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.recordMutation(Mutation.marked(7), new TaskList()));
+    }
+    
+    @Test
+    public void testLoadNextId_DeletedLastIdNotReusedAfterRestart() {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            Task task = TaskFactory.createToDo("task " + i, false);
+            taskList.addTask(task);
+            storage.recordMutation(Mutation.added(task), taskList);
+        }
+        taskList.removeTask(2);
+        storage.recordMutation(Mutation.deleted(3), taskList);
+        storage.close();
+        
+        storage = new MappedStorage(testFilePath);
+        assertEquals(4, storage.loadNextId());
+        TaskList reloaded = new TaskList();
+        new TaskLoader(reloaded, storage, new Parser()).loadTasks();
+        Task added = TaskFactory.createToDo("task 4", false);
+        reloaded.addTask(added);
+        storage.recordMutation(Mutation.added(added), reloaded);
+        assertEquals(4, added.getId());
+        assertEquals(3, storage.loadDecodedTasks().size());
+    }
+    
+    @Test
+    public void testUpdateAllTasks_ReplacesContents() {
+        storage.saveTask(TaskFactory.createToDo("old", false), 1);
+        storage.updateAllTasks(List.of(TaskFactory.createToDo("new", false)));
+        
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(1, tasks.size());
+        assertEquals("new", tasks.get(0).getDescription());
+        assertTrue(storage.loadSaveContents().isEmpty());
+    }
+    
+    @Test
+    public void testUpdateAllTasks_InterruptedRewriteKeepsOldContents() throws Exception {
+        storage.saveTask(TaskFactory.createToDo("kept", false), 1);
+        storage.updateAllTasks(List.of(TaskFactory.createToDo("rewritten", false)));
+        assertFalse(new File(testFilePath + ".rewrite").exists());
+        storage.close();
+        
+        Files.write(Paths.get(testFilePath + ".rewrite"), new byte[] {1, 2, 3});
+        storage = new MappedStorage(testFilePath);
+        assertFalse(new File(testFilePath + ".rewrite").exists());
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(1, tasks.size());
+        assertEquals("rewritten", tasks.get(0).getDescription());
+    }
+    
+    @Test
+    public void testUpdateAllTasks_ShrunkListSurvivesReload() {
+        for (int i = 1; i <= 5; i++) {
+            storage.saveTask(TaskFactory.createToDo("task number " + i + " with a longer description", false), i);
+        }
+        Task kept = TaskFactory.createToDo("task 2", true);
+        kept.setId(2);
+        Task other = TaskFactory.createToDo("task 4", false);
+        other.setId(4);
+        storage.updateAllTasks(List.of(kept, other));
+        storage.close();
+        
+        storage = new MappedStorage(testFilePath);
+        List<Task> tasks = storage.loadDecodedTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] task 2", tasks.get(0).toString());
+        assertEquals("[T][ ] task 4", tasks.get(1).toString());
+        
+        storage.saveTask(TaskFactory.createToDo("task 6", false), 6);
+        storage.close();
+        storage = new MappedStorage(testFilePath);
+        tasks = storage.loadDecodedTasks();
+        assertEquals(3, tasks.size());
+        assertEquals(6, tasks.get(2).getId());
+    }
+}
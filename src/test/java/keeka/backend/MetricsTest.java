@@ -0,0 +1,57 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+    
+    private Metrics metrics;
+    
+    @BeforeEach
+    public void setUp() {
+        metrics = new Metrics();
+    }
+    
+    @Test
+    public void testRecord_GroupsByName() {
+        assertTrue(metrics.isEmpty());
+        metrics.record("command.todo", 1_000_000);
+        metrics.record("command.todo", 3_000_000);
+        metrics.record("storage.saveTask", 2_000_000);
+        
+        assertFalse(metrics.isEmpty());
+        assertEquals(2, metrics.getHistogram("command.todo").getCount());
+        assertEquals(1, metrics.getHistogram("storage.saveTask").getCount());
+        assertNull(metrics.getHistogram("command.list"));
+    }
+    
+    @Test
+    public void testReport_ListsOperationsInNameOrder() {
+        metrics.record("storage.saveTask", 2_000_000);
+        metrics.record("command.todo", 3_000_000);
+        String[] lines = metrics.report().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("p99 ms"));
+        assertTrue(lines[1].startsWith("command.todo"));
+        assertTrue(lines[1].contains("3.000"));
+        assertTrue(lines[2].startsWith("storage.saveTask"));
+    }
+    
+    @Test
+    public void testWriteReport() throws IOException {
+        Path file = Files.createTempFile("keeka-metrics", ".txt");
+        try {
+            metrics.record("command.list", 500_000);
+            metrics.writeReport(file);
+            assertTrue(Files.readString(file).contains("command.list"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -27,6 +27,19 @@ public class ParserTest {
         assertEquals("read book", parsed.getTaskContent());
     }
     
+    @Test
+    public void testParseMutationRecord() {
+        Parser.MutationRecord added = parser.parseMutationRecord("A 12. [T][ ] read book");
+        assertEquals('A', added.getTypeCode());
+        assertEquals(12, added.getTaskId());
+        assertEquals("12. [T][ ] read book", added.getSaveContent());
+        
+        Parser.MutationRecord deleted = parser.parseMutationRecord("D 3");
+        assertEquals('D', deleted.getTypeCode());
+        assertEquals(3, deleted.getTaskId());
+        assertNull(deleted.getSaveContent());
+    }
+    
     @Test
     public void testParseDeadlineInput_LocalDate() {
         String input = "submit assignment /by 2024-12-31";
@@ -71,6 +84,13 @@ public class ParserTest {
         assertNull(eventInput.getEndDate());
     }
     
+    @Test
+    public void testParseEventInput_MissingParts() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parseEventInput("meeting /from 2024-12-31"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseEventInput("/from 2024-12-31 /to 2025-01-01"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseDeadlineInput("report by 2024-12-31"));
+    }
+    
     @Test
     public void testParseUpdateInput() {
         String input = "1 description new task description";
@@ -80,4 +100,59 @@ public class ParserTest {
         assertEquals("description", updateInput.getFieldType());
         assertEquals("new task description", updateInput.getNewValue());
     }
+    
+    @Test
+    public void testParseDateRangeInput_IncludesWholeEndDay() {
+        Parser.DateRangeInput range = parser.parseDateRangeInput("2025-03-01 2025-03-31");
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), range.getFrom());
+        assertEquals(LocalDateTime.of(2025, 4, 1, 0, 0), range.getTo());
+        
+        assertThrows(IllegalArgumentException.class, () -> parser.parseDateRangeInput("2025-03-01"));
+    }
+    
+    @Test
+    public void testParseMonthInput() {
+        Parser.DateRangeInput range = parser.parseMonthInput("2024-12");
+        assertEquals(LocalDateTime.of(2024, 12, 1, 0, 0), range.getFrom());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), range.getTo());
+    }
+    
+    @Test
+    public void testParseTaskReference() {
+        Parser.TaskReference byId = parser.parseTaskReference("#42");
+        assertTrue(byId.isId());
+        assertEquals(42, byId.getTaskId());
+        
+        Parser.TaskReference byPosition = parser.parseTaskReference("3");
+        assertFalse(byPosition.isId());
+        assertEquals(2, byPosition.getTaskIndex());
+        
+        assertThrows(NumberFormatException.class, () -> parser.parseTaskReference("#abc"));
+    }
+    
+    @Test
+    public void testParseListRange() {
+        Parser.ListRangeInput firstPage = parser.parseListRange("", 20);
+        assertEquals(0, firstPage.getFromIndex());
+        assertEquals(20, firstPage.getToIndex());
+        
+        Parser.ListRangeInput thirdPage = parser.parseListRange(" page 3 ", 20);
+        assertEquals(40, thirdPage.getFromIndex());
+        assertEquals(60, thirdPage.getToIndex());
+        
+        Parser.ListRangeInput range = parser.parseListRange("5-12", 20);
+        assertEquals(4, range.getFromIndex());
+        assertEquals(12, range.getToIndex());
+        
+        assertEquals(Integer.MAX_VALUE, parser.parseListRange("page 2147483647", 100).getToIndex());
+    }
+    
+    @Test
+    public void testParseListRange_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parseListRange("page 0", 20));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseListRange("page two", 20));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseListRange("12-5", 20));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseListRange("0-5", 20));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseListRange("all", 20));
+    }
 }
@@ -0,0 +1,73 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Deadline;
+import keeka.tasks.Event;
+import keeka.tasks.Task;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SaveLineDecoderTest {
+    
+    private SaveLineDecoder decoder;
+    
+    @BeforeEach
+    public void setUp() {
+        decoder = new SaveLineDecoder();
+    }
+    
+    @Test
+    public void testDecode_ToDo() {
+        Task task = decoder.decode("1. [T][X] read book. then sleep");
+        assertEquals("T", task.getTaskCode());
+        assertTrue(task.isDone());
+        assertEquals("read book. then sleep", task.getDescription());
+        assertEquals(1, task.getId());
+    }
+    
+    @Test
+    public void testDecode_DeadlineWithDate() {
+        Deadline deadline = (Deadline) decoder.decode("2. [D][ ] submit report (by: 2025-03-15)");
+        assertEquals("submit report", deadline.getDescription());
+        assertFalse(deadline.isDone());
+        assertEquals(LocalDate.of(2025, 3, 15), deadline.getDate());
+        assertNull(deadline.getDateTime());
+    }
+    
+    @Test
+    public void testDecode_EventWithDateTimes() {
+        Event event = (Event) decoder.decode(
+                "10. [E][X] board meeting (from: 2025-09-05T09:00 to: 2025-09-05T11:30:15)");
+        assertEquals("board meeting", event.getDescription());
+        assertEquals(LocalDateTime.of(2025, 9, 5, 9, 0), event.getStartDateTime());
+        assertEquals(LocalDateTime.of(2025, 9, 5, 11, 30, 15), event.getEndDateTime());
+    }
+    
+    @Test
+    public void testDecode_MatchesToStringRoundTrip() {
+        List<Task> tasks = List.of(
+                TaskFactory.createToDo("caf\u00e9 with \u00fcmlauts", false),
+                TaskFactory.createDeadline("return book", true, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600)),
+                TaskFactory.createEvent("trip", false, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 2)));
+        
+        for (int i = 0; i < tasks.size(); i++) {
+            String line = (i + 1) + ". " + tasks.get(i);
+            assertEquals(tasks.get(i).toString(), decoder.decode(line).toString());
+        }
+    }
+    
+    @Test
+    public void testDecode_InvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("garbage"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("1. [T][ ]"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("1. [Q][ ] unknown"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode("1. [D][ ] no date"));
+        assertThrows(DateTimeException.class, () -> decoder.decode("1. [D][ ] bad (by: 2025-02-30)"));
+    }
+}
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import keeka.tasks.Task;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,6 +78,183 @@ public class TaskListTest {
         assertTrue(foundTasks.contains(task3));
     }
     
+    @Test
+    public void testAddTask_AssignsIncreasingIds() {
+        Task first = TaskFactory.createToDo("first", false);
+        Task restored = TaskFactory.createToDo("restored", false);
+        restored.setId(10);
+        Task stale = TaskFactory.createToDo("stale", false);
+        stale.setId(4);
+        
+        taskList.addTask(first);
+        taskList.addTask(restored);
+        taskList.addTask(stale);
+        
+        assertEquals(1, first.getId());
+        assertEquals(10, restored.getId());
+        assertEquals(11, stale.getId());
+    }
+    
+    @Test
+    public void testIndexOfId_StableAcrossRemovals() {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(TaskFactory.createToDo("task " + i, false));
+        }
+        taskList.removeTask(1);
+        taskList.removeTask(0);
+        
+        assertEquals(0, taskList.indexOfId(3));
+        assertEquals(2, taskList.indexOfId(5));
+        assertEquals(-1, taskList.indexOfId(1));
+        assertEquals("task 4", taskList.getTaskById(4).getDescription());
+        assertNull(taskList.getTaskById(2));
+    }
+    
+    @Test
+    public void testReplaceTask_KeepsId() {
+        taskList.addTask(testTask);
+        Task replacement = TaskFactory.createToDo("replacement", false);
+        taskList.replaceTask(0, replacement);
+        
+        assertEquals(1, replacement.getId());
+        assertEquals(replacement, taskList.getTaskById(1));
+    }
+    
+    @Test
+    public void testFindTasks_WordsAndSubstringsInListOrder() {
+        taskList.addTask(TaskFactory.createToDo("buy notebook", false));
+        taskList.addTask(TaskFactory.createToDo("write code", false));
+        taskList.addTask(TaskFactory.createToDo("read book", false));
+        taskList.addTask(TaskFactory.createToDo("Book flight", false));
+        
+        List<Task> foundTasks = taskList.findTasks("book");
+        assertEquals(List.of("buy notebook", "read book"),
+                foundTasks.stream().map(Task::getDescription).toList());
+    }
+    
+    @Test
+    public void testFindTasks_MatchesWholeKeywordWithCase() {
+        taskList.addTask(TaskFactory.createToDo("Read the book", false));
+        taskList.addTask(TaskFactory.createToDo("read the book, twice", false));
+        taskList.addTask(TaskFactory.createToDo("book flight", false));
+        
+        assertTrue(taskList.findTasks("book READ").isEmpty());
+        assertEquals(List.of("read the book, twice"),
+                taskList.findTasks("the book,").stream().map(Task::getDescription).toList());
+        assertEquals(3, taskList.findTasks(" ").size());
+    }
+    
+    @Test
+    public void testFindTasks_FallsBackToSubstring() {
+        taskList.addTask(TaskFactory.createToDo("read notebook", false));
+        taskList.addTask(TaskFactory.createToDo("write code", false));
+        
+        List<Task> foundTasks = taskList.findTasks("ebo");
+        assertEquals(1, foundTasks.size());
+        assertEquals("read notebook", foundTasks.get(0).getDescription());
+    }
+    
+    @Test
+    public void testFindTasks_IndexFollowsRemoveAndReplace() {
+        taskList.addTask(TaskFactory.createToDo("old words", false));
+        taskList.addTask(TaskFactory.createToDo("other task", false));
+        taskList.replaceTask(0, TaskFactory.createToDo("new words", false));
+        taskList.removeTask(1);
+        
+        assertTrue(taskList.findTasks("old").isEmpty());
+        assertTrue(taskList.findTasks("other").isEmpty());
+        assertEquals(1, taskList.findTasks("new").size());
+    }
+    
+    @Test
+    public void testFindTasks_ListStopsWhenInterrupted() {
+        taskList.addTask(testTask);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> taskList.findTasks("test"));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, taskList.findTasks("test").size());
+    }
+    
+    @Test
+    public void testFindTasks_InBatches() {
+        for (int i = 0; i < TaskList.SEARCH_BATCH_SIZE + 10; i++) {
+            taskList.addTask(TaskFactory.createToDo("read chapter " + i, false));
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+        int found = taskList.findTasks("read", 1000, batch -> batchSizes.add(batch.size()));
+        assertEquals(TaskList.SEARCH_BATCH_SIZE + 10, found);
+        assertEquals(List.of(TaskList.SEARCH_BATCH_SIZE, 10), batchSizes);
+    }
+    
+    @Test
+    public void testFindTasks_StopsAtLimit() {
+        for (int i = 0; i < 10; i++) {
+            taskList.addTask(TaskFactory.createToDo("notebook " + i, false));
+        }
+        List<Task> tokenMatches = new ArrayList<>();
+        assertEquals(3, taskList.findTasks("notebook", 3, tokenMatches::addAll));
+        assertEquals(List.of(1, 2, 3), tokenMatches.stream().map(Task::getId).toList());
+        
+        List<Task> substringMatches = new ArrayList<>();
+        assertEquals(4, taskList.findTasks("ebo", 4, substringMatches::addAll));
+        assertEquals(List.of(1, 2, 3, 4), substringMatches.stream().map(Task::getId).toList());
+    }
+    
+    @Test
+    public void testFindTasks_StopsWhenInterrupted() {
+        taskList.addTask(testTask);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> taskList.findTasks("tes", 10, batch -> { }));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+    
+    @Test
+    public void testMarkAndUnmarkTask() {
+        taskList.addTask(testTask);
+        taskList.markTask(0);
+        assertTrue(taskList.getTask(0).isDone());
+        taskList.unmarkTask(0);
+        assertFalse(taskList.getTask(0).isDone());
+        taskList.markTask(5);
+        assertEquals(1, taskList.size());
+    }
+    
+    @Test
+    public void testListener_ReceivesEveryChange() {
+        List<String> events = new ArrayList<>();
+        taskList.addListener(new TaskListListener() {
+            @Override
+            public void taskAdded(Task task) {
+                events.add("added #" + task.getId());
+            }
+            
+            @Override
+            public void taskChanged(Task task) {
+                events.add("changed #" + task.getId() + (task.isDone() ? " done" : ""));
+            }
+            
+            @Override
+            public void taskRemoved(Task task) {
+                events.add("removed #" + task.getId());
+            }
+        });
+        
+        taskList.addTask(testTask);
+        taskList.addTask(TaskFactory.createToDo("other task", false));
+        taskList.markTask(0);
+        taskList.replaceTask(1, TaskFactory.createToDo("renamed task", false));
+        taskList.removeTask(0);
+        taskList.removeTask(5);
+        
+        assertEquals(List.of("added #1", "added #2", "changed #1 done", "changed #2", "removed #1"), events);
+    }
+    
     @Test
     public void testSize() {
         assertEquals(0, taskList.size());
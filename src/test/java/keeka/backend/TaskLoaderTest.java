@@ -5,6 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import keeka.tasks.Task;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,16 +25,18 @@ public class TaskLoaderTest {
     public void setUp() {
         testFilePath = "test_loader.txt";
         taskList = new TaskList();
-        storage = new Storage(testFilePath);
+        storage = new TextStorage(testFilePath);
         parser = new Parser();
         taskLoader = new TaskLoader(taskList, storage, parser);
     }
     
     @AfterEach
     public void tearDown() {
-        File testFile = new File(testFilePath);
-        if (testFile.exists()) {
-            testFile.delete();
+        for (String suffix : new String[] {"", ".log", ".log.old", ".compact"}) {
+            File testFile = new File(testFilePath + suffix);
+            if (testFile.exists()) {
+                testFile.delete();
+            }
         }
     }
     
@@ -61,4 +68,114 @@ public class TaskLoaderTest {
         assertDoesNotThrow(() -> taskLoader.loadTasks());
         // Should not crash even with invalid data in file
     }
+    
+    @Test
+    public void testLoadTasks_ReplaysMutationLog() {
+        TextStorage journaled = new TextStorage(testFilePath, 100);
+        
+        assertDoesNotThrow(() -> {
+            journaled.saveTask(TaskFactory.createToDo("first", false), 1);
+            journaled.saveTask(TaskFactory.createToDo("second", false), 2);
+            
+            TaskList scratch = new TaskList();
+            Task third = TaskFactory.createToDo("third", false);
+            third.setId(3);
+            Task secondUpdated = TaskFactory.createToDo("second v2", true);
+            secondUpdated.setId(2);
+            journaled.recordMutation(Mutation.added(third), scratch);
+            journaled.recordMutation(Mutation.marked(3), scratch);
+            journaled.recordMutation(Mutation.deleted(1), scratch);
+            journaled.recordMutation(Mutation.replaced(secondUpdated), scratch);
+            journaled.close();
+            
+            TaskList newTaskList = new TaskList();
+            new TaskLoader(newTaskList, new TextStorage(testFilePath, 100), parser).loadTasks();
+            
+            assertEquals(2, newTaskList.size());
+            assertEquals("[T][X] second v2", newTaskList.getTask(0).toString());
+            assertEquals("[T][X] third", newTaskList.getTask(1).toString());
+            assertEquals(2, newTaskList.getTask(0).getId());
+            assertEquals(3, newTaskList.getTask(1).getId());
+        });
+    }
+    
+    @Test
+    public void testLoadTasks_DeletedLastIdNotReusedAfterRestart() {
+        assertDoesNotThrow(() -> {
+            for (TextStorage saved : List.of(new TextStorage(testFilePath), new TextStorage(testFilePath, 2))) {
+                Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+                saved.updateAllTasks(List.of());
+                TaskList list = new TaskList();
+                for (int i = 1; i <= 3; i++) {
+                    Task task = TaskFactory.createToDo("task " + i, false);
+                    list.addTask(task);
+                    saved.recordMutation(Mutation.added(task), list);
+                }
+                list.removeTask(2);
+                saved.recordMutation(Mutation.deleted(3), list);
+                saved.close();
+                
+                TaskList reloaded = new TaskList();
+                TextStorage reopened = saved.isJournaled() ? new TextStorage(testFilePath, 2)
+                        : new TextStorage(testFilePath);
+                new TaskLoader(reloaded, reopened, parser).loadTasks();
+                reopened.close();
+                
+                assertEquals(2, reloaded.size());
+                Task added = TaskFactory.createToDo("task 4", false);
+                reloaded.addTask(added);
+                assertEquals(4, added.getId());
+            }
+        });
+    }
+    
+    @Test
+    public void testLoadTasks_ReportsTrigramIndexMemory() {
+        assertDoesNotThrow(() -> {
+            storage.saveTask(TaskFactory.createToDo("read book", false), 1);
+            
+            assertNull(new TaskLoader(new TaskList(), storage, parser).loadTasks().getIndexMemory());
+            LoadReport report = new TaskLoader(new TaskList(true), storage, parser).loadTasks();
+            assertTrue(report.getIndexMemory().startsWith("Trigram index: "));
+        });
+    }
+    
+    @Test
+    public void testLoadTasks_ChunkedLoadKeepsOrder() {
+        assertDoesNotThrow(() -> {
+            for (int i = 1; i <= 200; i++) {
+                storage.saveTask(TaskFactory.createToDo("task " + i, i % 2 == 0), i);
+            }
+            
+            TaskList newTaskList = new TaskList();
+            LoadReport report = new TaskLoader(newTaskList, storage, parser, 64).loadTasks();
+            
+            assertEquals(200, report.getLoadedCount());
+            assertFalse(report.hasFailures());
+            for (int i = 1; i <= 200; i++) {
+                assertEquals("task " + i, newTaskList.getTask(i - 1).getDescription());
+                assertEquals(i % 2 == 0, newTaskList.getTask(i - 1).isDone());
+            }
+        });
+    }
+    
+    @Test
+    public void testLoadTasks_CollectsFailuresInReport() {
+        assertDoesNotThrow(() -> {
+            Files.write(Paths.get(testFilePath), List.of(
+                    "1. [T][ ] first",
+                    "garbage",
+                    "3. [D][ ] broken (by: not a date)",
+                    "4. [T][X] last"));
+            
+            LoadReport report = new TaskLoader(taskList, storage, parser, 16).loadTasks();
+            
+            assertEquals(2, taskList.size());
+            assertEquals(2, report.getLoadedCount());
+            assertEquals(2, report.getFailures().size());
+            assertEquals(2, report.getFailures().get(0).getLineNumber());
+            assertEquals(3, report.getFailures().get(1).getLineNumber());
+            assertEquals("garbage", report.getFailures().get(0).getContent());
+        });
+    }
 }
@@ -0,0 +1,168 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextStorageTest {
+    
+    private TextStorage storage;
+    private String testFilePath;
+    
+    @BeforeEach
+    public void setUp() {
+        testFilePath = "test_storage.txt";
+        storage = new TextStorage(testFilePath);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        for (String suffix : new String[] {"", ".log", ".log.old", ".compact"}) {
+            File testFile = new File(testFilePath + suffix);
+            if (testFile.exists()) {
+                testFile.delete();
+            }
+        }
+    }
+    
+    @Test
+    public void testSaveTask() {
+        Task task = TaskFactory.createToDo("test task", false);
+        assertDoesNotThrow(() -> storage.saveTask(task, 1));
+    }
+    
+    @Test
+    public void testUpdateAllTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(TaskFactory.createToDo("task 1", false));
+        tasks.add(TaskFactory.createToDo("task 2", true));
+        
+        assertDoesNotThrow(() -> storage.updateAllTasks(tasks));
+    }
+    
+    @Test
+    public void testUpdateAllTasks_WritesLinesAcrossChunks() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            tasks.add(TaskFactory.createToDo("task " + i, i % 2 == 0));
+        }
+        storage.updateAllTasks(tasks);
+        
+        List<String> contents = storage.loadSaveContents();
+        assertEquals(2000, contents.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals((i + 1) + ". " + tasks.get(i), contents.get(i));
+        }
+    }
+    
+    @Test
+    public void testLoadSaveContents() {
+        Task task = TaskFactory.createToDo("test task", false);
+        
+        assertDoesNotThrow(() -> {
+            storage.saveTask(task, 1);
+            List<String> contents = storage.loadSaveContents();
+            assertFalse(contents.isEmpty());
+            assertTrue(contents.get(0).contains("test task"));
+        });
+    }
+    
+    @Test
+    public void testLoadSaveContents_EmptyFile() {
+        assertDoesNotThrow(() -> {
+            List<String> contents = storage.loadSaveContents();
+            assertTrue(contents.isEmpty());
+        });
+    }
+    
+    @Test
+    public void testRecordMutation_JournaledAppendsToLog() {
+        TextStorage journaled = new TextStorage(testFilePath, 10);
+        TaskList taskList = new TaskList();
+        Task task = TaskFactory.createToDo("test task", false);
+        
+        assertDoesNotThrow(() -> {
+            taskList.addTask(task);
+            journaled.recordMutation(Mutation.added(task), taskList);
+            task.markAsDone();
+            journaled.recordMutation(Mutation.marked(1), taskList);
+            
+            assertTrue(journaled.loadSaveContents().isEmpty());
+            List<String> records = journaled.loadMutationRecords();
+            assertEquals(2, records.size());
+            assertEquals("A 1. [T][ ] test task", records.get(0));
+            assertEquals("M 1", records.get(1));
+        });
+        journaled.close();
+    }
+    
+    @Test
+    public void testRecordMutation_CompactsPastThreshold() {
+        TextStorage journaled = new TextStorage(testFilePath, 2);
+        TaskList taskList = new TaskList();
+        
+        assertDoesNotThrow(() -> {
+            for (int i = 1; i <= 3; i++) {
+                Task task = TaskFactory.createToDo("task " + i, false);
+                taskList.addTask(task);
+                journaled.recordMutation(Mutation.added(task), taskList);
+            }
+            journaled.close();
+            
+            assertEquals(2, journaled.loadSaveContents().size());
+            assertEquals(List.of("A 3. [T][ ] task 3"), journaled.loadMutationRecords());
+        });
+    }
+    
+    @Test
+    public void testRecordMutation_NotJournaledRewritesFile() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(TaskFactory.createToDo("task 1", false));
+        taskList.addTask(TaskFactory.createToDo("task 2", false));
+        
+        assertDoesNotThrow(() -> {
+            storage.updateAllTasks(taskList.getAllTasks());
+            taskList.removeTask(0);
+            storage.recordMutation(Mutation.deleted(1), taskList);
+            
+            assertEquals(List.of("2. [T][ ] task 2"), storage.loadSaveContents());
+            assertTrue(storage.loadMutationRecords().isEmpty());
+        });
+    }
+    
+    @Test
+    public void testUpdateAllTasks_EmitsStorageWriteEvent() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(TaskFactory.createToDo("task 1", false));
+        tasks.add(TaskFactory.createToDo("task 2", true));
+        
+        Path recordingPath = Files.createTempFile("keeka", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("keeka.StorageWrite");
+            recording.start();
+            storage.updateAllTasks(tasks);
+            recording.stop();
+            recording.dump(recordingPath);
+            
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+            assertEquals(1, events.size());
+            assertEquals("rewrite", events.get(0).getString("operation"));
+            assertEquals(2, events.get(0).getInt("records"));
+            assertEquals(new File(testFilePath).length(), events.get(0).getLong("bytes"));
+        } finally {
+            Files.deleteIfExists(recordingPath);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextTaskCodecTest {
+    
+    private final TaskCodec codec = TextTaskCodec.INSTANCE;
+    
+    @Test
+    public void testEncode_MatchesLegacyFormat() {
+        List<Task> tasks = List.of(
+                TaskFactory.createToDo("caf\u00e9 with \u00fcmlauts", true),
+                TaskFactory.createDeadline("submit report", false, LocalDate.of(2025, 3, 15)),
+                TaskFactory.createDeadline("return book", true, LocalDateTime.of(2024, 1, 2, 3, 4)),
+                TaskFactory.createDeadline("precise", false, LocalDateTime.of(2024, 1, 2, 3, 4, 5)),
+                TaskFactory.createDeadline("fractional", false, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600)),
+                TaskFactory.createDeadline("ancient", false, LocalDate.of(12, 7, 1)),
+                TaskFactory.createDeadline("far future", false, LocalDate.of(12345, 7, 1)),
+                TaskFactory.createEvent("trip", false, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 2)),
+                TaskFactory.createEvent("meeting", true,
+                        LocalDateTime.of(2025, 9, 5, 9, 0), LocalDateTime.of(2025, 9, 5, 11, 30, 15)));
+        
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < tasks.size(); i++) {
+            out.setLength(0);
+            codec.encode(tasks.get(i), i + 1, out);
+            assertEquals((i + 1) + ". " + tasks.get(i), out.toString());
+        }
+    }
+    
+    @Test
+    public void testEncode_DecodesBack() {
+        Task task = TaskFactory.createEvent("meeting", true,
+                LocalDateTime.of(2025, 9, 5, 9, 0), LocalDateTime.of(2025, 9, 5, 11, 30));
+        StringBuilder out = new StringBuilder();
+        codec.encode(task, 42, out);
+        
+        Task decoded = codec.decode(out.toString());
+        assertEquals(42, decoded.getId());
+        assertEquals(task.toString(), decoded.toString());
+    }
+    
+    @Test
+    public void testTaskCodecs_LookupByVersion() {
+        assertSame(codec, TaskCodecs.getDefault());
+        assertSame(codec, TaskCodecs.forVersion(TextTaskCodec.VERSION));
+        assertThrows(IllegalArgumentException.class, () -> TaskCodecs.forVersion(99));
+        assertThrows(IllegalArgumentException.class, () -> TaskCodecs.register(new TextTaskCodec()));
+    }
+}
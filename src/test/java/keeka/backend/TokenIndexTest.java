@@ -0,0 +1,70 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenIndexTest {
+    
+    private TokenIndex index;
+    
+    @BeforeEach
+    public void setUp() {
+        index = new TokenIndex();
+    }
+    
+    private Task task(int id, String description) {
+        Task task = TaskFactory.createToDo(description, false);
+        task.setId(id);
+        return task;
+    }
+    
+    @Test
+    public void testTokenize_NormalizesAndDeduplicates() {
+        assertEquals(List.of("read", "the", "book", "2"), TokenIndex.tokenize("Read the BOOK, the book #2!"));
+        assertTrue(TokenIndex.tokenize("  ...  ").isEmpty());
+    }
+    
+    @Test
+    public void testCandidatesContaining_IntersectsWholeWords() {
+        index.add(task(1, "read book"));
+        index.add(task(2, "write book review"));
+        index.add(task(3, "Read the book again"));
+        index.add(task(4, "read newspaper"));
+        index.add(task(5, "notebook, the end"));
+        
+        assertArrayEquals(new int[] {1, 2, 3}, index.candidatesContaining(" book "));
+        assertArrayEquals(new int[] {3, 5}, index.candidatesContaining("x THE y"));
+        assertArrayEquals(new int[] {3}, index.candidatesContaining("ad the book ag"));
+        assertArrayEquals(new int[0], index.candidatesContaining("read missing book"));
+    }
+    
+    @Test
+    public void testCandidatesContaining_WordsContainingRarestRun() {
+        index.add(task(1, "buy notebook"));
+        index.add(task(2, "write code"));
+        index.add(task(3, "Book flight"));
+        index.add(task(4, "read book 42"));
+        index.add(task(5, "read book 7"));
+        
+        assertArrayEquals(new int[] {1, 3, 4, 5}, index.candidatesContaining("book"));
+        assertArrayEquals(new int[] {4}, index.candidatesContaining("book 42"));
+        assertArrayEquals(new int[0], index.candidatesContaining("missing book"));
+        assertNull(index.candidatesContaining(" - "));
+    }
+    
+    @Test
+    public void testRemove_DropsEmptyPostingLists() {
+        Task task = task(1, "unique words");
+        index.add(task);
+        assertEquals(2, index.size());
+        
+        index.remove(task);
+        assertEquals(0, index.size());
+        assertArrayEquals(new int[0], index.candidatesContaining("unique"));
+    }
+}
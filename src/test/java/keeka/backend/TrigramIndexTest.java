@@ -0,0 +1,107 @@
+package keeka.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import keeka.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+    
+    private TrigramIndex index;
+    
+    @BeforeEach
+    public void setUp() {
+        index = new TrigramIndex();
+    }
+    
+    private Task task(int id, String description) {
+        Task task = TaskFactory.createToDo(description, false);
+        task.setId(id);
+        return task;
+    }
+    
+    @Test
+    public void testCandidates_ContainEveryTrigram() {
+        index.add(task(1, "read notebook"));
+        index.add(task(2, "book flight"));
+        index.add(task(3, "Notebook"));
+        
+        assertArrayEquals(new int[] {1, 2, 3}, index.candidates("book"));
+        assertArrayEquals(new int[] {1}, index.candidates("notebook"));
+        assertArrayEquals(new int[0], index.candidates("xyz"));
+    }
+    
+    @Test
+    public void testRemove_KeepsCountsInStep() {
+        Task task = task(1, "aaaa");
+        index.add(task);
+        index.add(task(2, "aaab"));
+        assertEquals(2, index.getTrigramCount());
+        assertEquals(3, index.getPostingCount());
+        
+        index.remove(task);
+        assertEquals(2, index.getTrigramCount());
+        assertEquals(2, index.getPostingCount());
+        assertArrayEquals(new int[] {2}, index.candidates("aaa"));
+    }
+    
+    @Test
+    public void testEstimateMemoryBytes_GrowsWithPostings() {
+        long empty = index.estimateMemoryBytes();
+        for (int i = 1; i <= 100; i++) {
+            index.add(task(i, "task number " + i));
+        }
+        assertTrue(index.estimateMemoryBytes() > empty + index.getPostingCount() * Integer.BYTES);
+        assertTrue(index.describeMemory().startsWith("Trigram index: "));
+    }
+    
+    @Test
+    public void testFindTasks_MatchesLinearScan() {
+        TaskList indexed = new TaskList(true);
+        TaskList scanned = new TaskList(false);
+        Random random = new Random(42);
+        String alphabet = "abcAB .";
+        
+        for (int i = 0; i < 500; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int j = random.nextInt(12); j >= 0; j--) {
+                description.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            indexed.addTask(TaskFactory.createToDo(description.toString(), false));
+            scanned.addTask(TaskFactory.createToDo(description.toString(), false));
+            if (random.nextInt(5) == 0) {
+                int index = random.nextInt(indexed.size());
+                indexed.removeTask(index);
+                scanned.removeTask(index);
+            } else if (random.nextInt(5) == 0) {
+                int index = random.nextInt(indexed.size());
+                indexed.replaceTask(index, TaskFactory.createToDo("replaced " + i, false));
+                scanned.replaceTask(index, TaskFactory.createToDo("replaced " + i, false));
+            }
+        }
+        
+        for (String query : new String[] {"", "a", "ab", "abc", "aBa", "a.b", "ced 1", "replaced 4", "zzz",
+                " replaced ", "d 4 ", "a b.c"}) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : scanned.getAllTasks()) {
+                if (task.getDescription().contains(query)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected.toString(), scanned.findTasks(query).toString(), query);
+            assertEquals(expected.toString(), indexed.findTasks(query).toString(), query);
+            
+            List<Task> batched = new ArrayList<>();
+            indexed.findTasks(query, Integer.MAX_VALUE, batched::addAll);
+            assertEquals(expected.toString(), batched.toString(), query);
+            batched.clear();
+            scanned.findTasks(query, Integer.MAX_VALUE, batched::addAll);
+            assertEquals(expected.toString(), batched.toString(), query);
+        }
+    }
+}
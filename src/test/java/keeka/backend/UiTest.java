@@ -34,7 +34,7 @@ public class UiTest {
     @Test
     public void testShowGreeting() {
         ui.showGreeting();
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Hello! I'm Keeka"));
         assertTrue(output.contains("What can I do for you?"));
     }
@@ -42,7 +42,7 @@ public class UiTest {
     @Test
     public void testShowGoodbye() {
         ui.showGoodbye();
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Bye. Hope to see you again soon!"));
     }
     
@@ -50,7 +50,7 @@ public class UiTest {
     public void testShowTaskAdded() {
         Task task = TaskFactory.createToDo("test task", false);
         ui.showTaskAdded(task, 1);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Task successfully added"));
         assertTrue(output.contains("Task counter: 1"));
     }
@@ -60,7 +60,7 @@ public class UiTest {
         Task task = TaskFactory.createToDo("test task", false);
         task.markAsDone();
         ui.showTaskMarked(task);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Task successfully marked as done"));
     }
     
@@ -69,7 +69,7 @@ public class UiTest {
         Task task = TaskFactory.createToDo("test task", true);
         task.markAsNotDone();
         ui.showTaskUnmarked(task);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Task successfully marked as NOT done"));
     }
     
@@ -77,7 +77,7 @@ public class UiTest {
     public void testShowTaskDeleted() {
         Task task = TaskFactory.createToDo("test task", false);
         ui.showTaskDeleted(task, 0);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Task successfully deleted"));
         assertTrue(output.contains("Task counter: 0"));
     }
@@ -86,7 +86,7 @@ public class UiTest {
     public void testShowTaskList_EmptyList() {
         List<Task> tasks = new ArrayList<>();
         ui.showTaskList(tasks);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("List is empty! Add tasks to display"));
     }
     
@@ -97,7 +97,7 @@ public class UiTest {
         tasks.add(TaskFactory.createToDo("task 2", true));
         
         ui.showTaskList(tasks);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Displaying list items"));
         assertTrue(output.contains("1. [T][ ] task 1"));
         assertTrue(output.contains("2. [T][X] task 2"));
@@ -107,7 +107,7 @@ public class UiTest {
     public void testShowFoundTasks_NoResults() {
         List<Task> tasks = new ArrayList<>();
         ui.showFoundTasks(tasks);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Unable to find any matches for your query!"));
     }
     
@@ -117,7 +117,7 @@ public class UiTest {
         tasks.add(TaskFactory.createToDo("found task", false));
         
         ui.showFoundTasks(tasks);
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Displaying items that match your query"));
         assertTrue(output.contains("found task"));
     }
@@ -125,14 +125,161 @@ public class UiTest {
     @Test
     public void testShowError() {
         ui.showError("Test error message");
-        String output = outputStream.toString();
+        String output = output();
         assertTrue(output.contains("Error: Test error message"));
     }
     
+    @Test
+    public void testShowLoadReport_NoFailures() {
+        LoadReport report = new LoadReport();
+        report.addLoaded(3);
+        ui.showLoadReport(report);
+        assertEquals("Loaded 3 task(s)", ui.getLatestMessage());
+    }
+    
+    @Test
+    public void testShowLoadReport_WithFailures() {
+        LoadReport report = new LoadReport();
+        report.addLoaded(2);
+        report.addFailure(new LoadReport.Failure("List.txt", 3, "X | ?", "Unknown task type"));
+        ui.showLoadReport(report);
+        String latestMessage = ui.getLatestMessage();
+        assertTrue(latestMessage.startsWith("Loaded 2 task(s)\nSkipped 1 unreadable line(s):"));
+    }
+    
+    @Test
+    public void testShowLoadReport_WithIndexMemory() {
+        LoadReport report = new LoadReport();
+        report.addLoaded(1);
+        report.setIndexMemory("Trigram index: 3 trigrams, 3 postings, about 1 KiB");
+        ui.showLoadReport(report);
+        assertEquals("Loaded 1 task(s)\nTrigram index: 3 trigrams, 3 postings, about 1 KiB", ui.getLatestMessage());
+    }
+    
     @Test
     public void testGetLatestMessage() {
         ui.showGreeting();
         String latestMessage = ui.getLatestMessage();
         assertTrue(latestMessage.contains("Hello! I'm Keeka"));
     }
+    
+    @Test
+    public void testFlush_WritesInteractionOnce() {
+        ui.showGreeting();
+        ui.showError("oops");
+        assertEquals("", outputStream.toString());
+        
+        ui.flush();
+        String output = outputStream.toString();
+        assertTrue(output.indexOf("Hello! I'm Keeka") < output.indexOf("Error: oops"));
+        
+        ui.flush();
+        assertEquals(output, outputStream.toString());
+    }
+    
+    @Test
+    public void testNoneSink_KeepsLatestMessageOnly() {
+        Ui silentUi = new Ui(OutputSink.NONE);
+        silentUi.showGreeting();
+        silentUi.showGoodbye();
+        silentUi.flush();
+        assertEquals("Bye. Hope to see you again soon!", silentUi.getLatestMessage());
+        assertEquals("", outputStream.toString());
+    }
+    
+    @Test
+    public void testShow_NoneSinkRendersOnlyWhenAsked() {
+        Ui silentUi = new Ui(OutputSink.NONE);
+        Task task = TaskFactory.createToDo("test task", false);
+        silentUi.show(new CommandResult.TaskAdded(task, 1, List.of()));
+        silentUi.flush();
+        assertEquals("", outputStream.toString());
+        assertTrue(silentUi.getLatestMessage().contains("test task"));
+        
+        silentUi.show(new CommandResult.Error(CommandResult.Error.Code.INVALID_INPUT, "bad input"));
+        assertEquals("Error: bad input", silentUi.getLatestMessage());
+    }
+    
+    @Test
+    public void testShow_DiscardingSinkIsNotWrittenTo() {
+        List<String> calls = new ArrayList<>();
+        Ui discardingUi = new Ui(new OutputSink() {
+            @Override
+            public void beginMessage() {
+                calls.add("begin");
+            }
+            
+            @Override
+            public void append(CharSequence text) {
+                calls.add(text.toString());
+            }
+            
+            @Override
+            public void endMessage() {
+                calls.add("end");
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public boolean isDiscarding() {
+                return true;
+            }
+        });
+        Task task = TaskFactory.createToDo("test task", false);
+        discardingUi.show(new CommandResult.TaskAdded(task, 1, List.of()));
+        assertEquals(List.of(), calls);
+        assertTrue(discardingUi.getLatestMessage().contains("test task"));
+    }
+    
+    @Test
+    public void testShowTaskList_StreamsLines() {
+        List<String> pieces = new ArrayList<>();
+        Ui streamingUi = new Ui(new OutputSink() {
+            @Override
+            public void beginMessage() {
+            }
+            
+            @Override
+            public void append(CharSequence text) {
+                pieces.add(text.toString());
+            }
+            
+            @Override
+            public void endMessage() {
+            }
+            
+            @Override
+            public void flush() {
+            }
+        });
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(TaskFactory.createToDo("task 1", false));
+        tasks.add(TaskFactory.createToDo("task 2", true));
+        
+        streamingUi.showTaskList(tasks);
+        assertEquals(List.of("Displaying list items\n", "1. [T][ ] task 1\n", "2. [T][X] task 2\n", ""), pieces);
+        assertEquals(String.join("", pieces), streamingUi.getLatestMessage());
+    }
+    
+    @Test
+    public void testShowTaskList_BoundsLatestMessage() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            tasks.add(TaskFactory.createToDo("a fairly long task description number " + i, false));
+        }
+        ui.showTaskList(tasks);
+        
+        String latestMessage = ui.getLatestMessage();
+        assertTrue(latestMessage.length() < Ui.LATEST_MESSAGE_LIMIT + 100);
+        assertTrue(latestMessage.endsWith(" more line(s) not kept\n"));
+        assertTrue(output().contains("10000. [T][ ] a fairly long task description number 9999"));
+    }
+    
+    private String output() {
+        ui.flush();
+        return outputStream.toString();
+    }
 }